@@ -0,0 +1,55 @@
+// k6 load test for the redirect and dashboard paths.
+//
+//   k6 run -e BASE_URL=http://localhost:8000 -e ALIAS=abc1234 -e TOKEN=<access token> \
+//          -e VUS=2000 loadtest/redirect-dashboard.js
+//
+// Run it once against the default profile and once with
+// SPRING_PROFILES_ACTIVE=virtual on Java 21, same database and data.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8000';
+const ALIAS = __ENV.ALIAS;
+const TOKEN = __ENV.TOKEN;
+const VUS = parseInt(__ENV.VUS || '1000');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    discardResponseBodies: true,
+    scenarios: {
+        redirect: {
+            executor: 'ramping-vus',
+            exec: 'redirect',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+        },
+        dashboard: {
+            executor: 'ramping-vus',
+            exec: 'dashboard',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Math.max(1, Math.floor(VUS / 10)) },
+                { duration: DURATION, target: Math.max(1, Math.floor(VUS / 10)) },
+                { duration: '10s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function redirect() {
+    const res = http.get(`${BASE_URL}/${ALIAS}`, { redirects: 0, tags: { name: 'redirect' } });
+    check(res, { 'redirect 302': (r) => r.status === 302 });
+}
+
+export function dashboard() {
+    const res = http.get(`${BASE_URL}/api/dashboard`, {
+        headers: { Authorization: `Bearer ${TOKEN}` },
+        tags: { name: 'dashboard' },
+    });
+    check(res, { 'dashboard 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,102 @@
+// Node fallback for redirect-dashboard.js where k6 is not installed: same
+// scenarios, ramps and tags, and a summary with the columns of the README
+// table. Needs Node 18+ and nothing else.
+//
+//   BASE_URL=http://localhost:8000 ALIAS=abc1234 TOKEN=<access token> VUS=200 \
+//       node loadtest/redirect-dashboard.mjs
+import http from 'node:http';
+
+const BASE_URL = new URL(process.env.BASE_URL || 'http://localhost:8000');
+const ALIAS = process.env.ALIAS;
+const TOKEN = process.env.TOKEN;
+const VUS = parseInt(process.env.VUS || '1000');
+const DURATION = parseDuration(process.env.DURATION || '2m');
+
+const RAMP_UP = 30_000;
+const RAMP_DOWN = 10_000;
+
+const agent = new http.Agent({ keepAlive: true, maxSockets: Infinity });
+
+const scenarios = {
+    redirect: {
+        vus: VUS,
+        path: `/${ALIAS}`,
+        headers: {},
+        ok: (status) => status === 302,
+    },
+    dashboard: {
+        vus: Math.max(1, Math.floor(VUS / 10)),
+        path: '/api/dashboard',
+        headers: { Authorization: `Bearer ${TOKEN}` },
+        ok: (status) => status === 200,
+    },
+};
+
+function parseDuration(s) {
+    const m = /^(\d+)(ms|s|m)$/.exec(s);
+    if (!m) throw new Error(`bad DURATION ${s}`);
+    return parseInt(m[1]) * { ms: 1, s: 1000, m: 60_000 }[m[2]];
+}
+
+/** Target VU count at elapsed time t, following the k6 ramping-vus stages. */
+function target(vus, t) {
+    if (t < RAMP_UP) return Math.ceil(vus * t / RAMP_UP);
+    if (t < RAMP_UP + DURATION) return vus;
+    const down = t - RAMP_UP - DURATION;
+    return down < RAMP_DOWN ? Math.floor(vus * (1 - down / RAMP_DOWN)) : 0;
+}
+
+function get(path, headers) {
+    return new Promise((resolve) => {
+        const req = http.get({
+            host: BASE_URL.hostname, port: BASE_URL.port, path, headers, agent,
+        }, (res) => {
+            res.resume();
+            res.on('end', () => resolve(res.statusCode));
+        });
+        req.on('error', () => resolve(0));
+    });
+}
+
+async function vu(s, id, start, stats) {
+    for (;;) {
+        const t = Date.now() - start;
+        if (id >= target(s.vus, t)) {
+            // past the ramp-up a VU above the target has been ramped down
+            if (t >= RAMP_UP) return;
+            await new Promise((r) => setTimeout(r, 50));
+            continue;
+        }
+        const t0 = process.hrtime.bigint();
+        const status = await get(s.path, s.headers);
+        stats.durations.push(Number(process.hrtime.bigint() - t0) / 1e6);
+        if (!s.ok(status)) stats.failed++;
+    }
+}
+
+function percentile(sorted, p) {
+    return sorted.length ? sorted[Math.min(sorted.length - 1, Math.ceil(p / 100 * sorted.length) - 1)] : NaN;
+}
+
+const start = Date.now();
+const stats = {};
+const runs = [];
+for (const [name, s] of Object.entries(scenarios)) {
+    stats[name] = { durations: [], failed: 0 };
+    for (let id = 0; id < s.vus; id++) runs.push(vu(s, id, start, stats[name]));
+}
+await Promise.all(runs);
+const elapsed = (Date.now() - start) / 1000;
+
+let total = 0;
+let failed = 0;
+for (const [name, st] of Object.entries(stats)) {
+    const sorted = Float64Array.from(st.durations).sort();
+    total += sorted.length;
+    failed += st.failed;
+    console.log(`${name.padEnd(10)} reqs=${sorted.length} rate=${(sorted.length / elapsed).toFixed(1)}/s`
+        + ` p50=${percentile(sorted, 50).toFixed(1)}ms p95=${percentile(sorted, 95).toFixed(1)}ms`
+        + ` p99=${percentile(sorted, 99).toFixed(1)}ms failed=${st.failed}`);
+}
+console.log(`errors=${(100 * failed / Math.max(1, total)).toFixed(2)}% over ${elapsed.toFixed(0)}s`);
+agent.destroy();
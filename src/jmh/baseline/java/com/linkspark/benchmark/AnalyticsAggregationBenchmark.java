@@ -0,0 +1,46 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.dto.AnalyticsResponse;
+import com.linkspark.model.Analytics;
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline port: {@link AnalyticsService#getMetricsForAlias} loads every
+ * click of the link and aggregates the raw rows on each call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class AnalyticsAggregationBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int clicks;
+
+    @Param({"24h", "7d", "30d"})
+    public String range;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setup() {
+        List<Analytics> raw = Fixtures.clicks(Fixtures.ALIAS, clicks, 42);
+        AnalyticsRepository repo = Stubs.repository(AnalyticsRepository.class, Map.of(
+                "findByAliasOrderByClickedAtDesc", args -> raw
+        ));
+        analyticsService = new AnalyticsService(repo);
+    }
+
+    @Benchmark
+    public AnalyticsResponse getMetricsForAlias() {
+        return analyticsService.getMetricsForAlias(Fixtures.ALIAS, range, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.domain.User;
+import com.linkspark.model.Analytics;
+import com.linkspark.model.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/** Baseline port of the benchmark fixtures; see {@code src/jmh/README.md}. */
+final class Fixtures {
+
+    static final String ALIAS = "abc123";
+
+    static final String CHROME_DESKTOP =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/129.0.0.0 Safari/537.36";
+    static final String SAFARI_IPHONE =
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.6 Mobile/15E148 Safari/604.1";
+    static final String EDGE_DESKTOP =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/129.0.0.0 Safari/537.36 Edg/129.0.2792.79";
+    static final String FIREFOX_ANDROID =
+            "Mozilla/5.0 (Android 14; Mobile; rv:131.0) Gecko/131.0 Firefox/131.0";
+    static final String GOOGLEBOT =
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)";
+
+    private static final String[] COUNTRIES = {"IN", "US", "GB", "DE", "FR", "BR", "JP", "CA", "AU", "UN"};
+    private static final String[] DEVICES = {"desktop", "mobile", "tablet"};
+    private static final String[] BROWSERS = {"Chrome", "Safari", "Firefox", "Edge", "Opera", "Other"};
+
+    private Fixtures() {}
+
+    static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("Bench User");
+        user.setEmail("bench@linkspark.dev");
+        return user;
+    }
+
+    static Link link(String alias) {
+        Link link = new Link();
+        link.setId(1L);
+        link.setTitle("Benchmark link");
+        link.setAlias(alias);
+        link.setOriginalUrl("https://example.com/landing?utm_source=bench");
+        link.setRedirectType(302);
+        link.setEnableAnalytics(true);
+        return link;
+    }
+
+    /**
+     * Raw click rows for {@code alias} spread over the last year, newest
+     * first. The same seed gives the same rows as in the current benchmarks, so
+     * both runs aggregate identical data.
+     */
+    static List<Analytics> clicks(String alias, int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<Analytics> clicks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Analytics a = new Analytics();
+            a.setAlias(alias);
+            a.setCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            a.setDevice(DEVICES[random.nextInt(DEVICES.length)]);
+            a.setBrowser(BROWSERS[random.nextInt(BROWSERS.length)]);
+            a.setReferer("https://site" + random.nextInt(50) + ".com/post/" + random.nextInt(1_000));
+            a.setClickedAt(now.minusSeconds(random.nextInt(365 * 24 * 3600)));
+            clicks.add(a);
+        }
+        clicks.sort(Comparator.comparing(Analytics::getClickedAt).reversed());
+        return clicks;
+    }
+
+    static MockHttpServletRequest redirectRequest(String userAgent) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + ALIAS);
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("User-Agent", userAgent);
+        request.addHeader("Referer", "https://www.google.com/search?q=linkspark");
+        request.addHeader("CF-IPCountry", "IN");
+        return request;
+    }
+}
@@ -0,0 +1,51 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.config.JwtProperties;
+import com.linkspark.domain.User;
+import com.linkspark.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline port: every claim read parses and verifies the token again,
+ * and every parse rebuilds the key and the parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("LKtn4r4t0Gp+F4KVOeKem1de2UDHz3bCQxvWbHpGXRY=");
+
+        jwtService = new JwtService(properties, null);
+        user = Fixtures.user();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return jwtService.isValid(token, user, "access");
+    }
+
+    /** What {@code JwtAuthFilter} paid per request, minus its user lookup. */
+    @Benchmark
+    public boolean filterPath() {
+        return jwtService.extractUsername(token) != null && jwtService.isValid(token, user, "access");
+    }
+}
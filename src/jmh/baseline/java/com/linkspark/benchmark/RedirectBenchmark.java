@@ -0,0 +1,60 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.controller.RedirectController;
+import com.linkspark.model.Link;
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.repository.LinkRepository;
+import com.linkspark.service.AnalyticsService;
+import com.linkspark.service.LinkService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline port: every redirect loads the link, saves a click row and
+ * saves the link again. The repository stubs answer immediately, so only
+ * the application-side cost is measured; {@code resolveCached} is the
+ * uncached lookup, as there is no cache at this revision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class RedirectBenchmark {
+
+    private LinkService linkService;
+    private RedirectController controller;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        Link link = Fixtures.link(Fixtures.ALIAS);
+        LinkRepository linkRepo = Stubs.repository(LinkRepository.class, Map.of(
+                "findByAlias", args -> Optional.of(link),
+                "save", args -> args[0]
+        ));
+        AnalyticsRepository analyticsRepo = Stubs.repository(AnalyticsRepository.class, Map.of(
+                "save", args -> args[0]
+        ));
+
+        linkService = new LinkService(linkRepo, null, null, null);
+        controller = new RedirectController(linkService, new AnalyticsService(analyticsRepo));
+        request = Fixtures.redirectRequest(Fixtures.CHROME_DESKTOP);
+    }
+
+    @Benchmark
+    public Link resolveCached() {
+        return linkService.getLinkByAlias(Fixtures.ALIAS);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> handleRedirect() {
+        return controller.handleRedirect(Fixtures.ALIAS, null, request);
+    }
+}
@@ -0,0 +1,32 @@
+package com.linkspark.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal dynamic-proxy stand-ins for Spring Data repositories so the
+ * benchmarks exercise service code without a database.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (self, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) return answer.apply(args);
+
+                    return switch (method.getName()) {
+                        case "toString" -> type.getSimpleName() + "Stub";
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        return type.cast(proxy);
+    }
+}
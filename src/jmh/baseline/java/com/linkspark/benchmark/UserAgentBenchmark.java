@@ -0,0 +1,50 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline port: {@link AnalyticsService#recordHit} classifies the user
+ * agent with substring checks and saves the click row synchronously.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class UserAgentBenchmark {
+
+    private static final Map<String, String> USER_AGENTS = Map.of(
+            "chrome-desktop", Fixtures.CHROME_DESKTOP,
+            "safari-iphone", Fixtures.SAFARI_IPHONE,
+            "edge-desktop", Fixtures.EDGE_DESKTOP,
+            "firefox-android", Fixtures.FIREFOX_ANDROID,
+            "googlebot", Fixtures.GOOGLEBOT
+    );
+
+    @Param({"chrome-desktop", "safari-iphone", "edge-desktop", "firefox-android", "googlebot"})
+    public String userAgent;
+
+    private AnalyticsService analyticsService;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        AnalyticsRepository repo = Stubs.repository(AnalyticsRepository.class, Map.of(
+                "save", args -> args[0]
+        ));
+        analyticsService = new AnalyticsService(repo);
+        request = Fixtures.redirectRequest(USER_AGENTS.get(userAgent));
+    }
+
+    @Benchmark
+    public void recordHit() {
+        analyticsService.recordHit(Fixtures.ALIAS, request);
+    }
+}
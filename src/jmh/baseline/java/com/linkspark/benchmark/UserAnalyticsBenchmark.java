@@ -0,0 +1,75 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.domain.User;
+import com.linkspark.dto.UserAnalyticsResponse;
+import com.linkspark.model.Analytics;
+import com.linkspark.model.Link;
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.repository.LinkRepository;
+import com.linkspark.service.LinkService;
+import com.linkspark.service.UserAnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline port: {@link UserAnalyticsService#getUserMetrics} loads the
+ * accessible links, re-reads each one by alias, then filters every click
+ * in the table in memory. Each link has {@value #CLICKS_PER_LINK} clicks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class UserAnalyticsBenchmark {
+
+    private static final int CLICKS_PER_LINK = 10;
+
+    @Param({"100", "10000"})
+    public int links;
+
+    @Param({"7d", "90d"})
+    public String range;
+
+    private UserAnalyticsService userAnalyticsService;
+    private Authentication auth;
+
+    @Setup
+    public void setup() {
+        User user = Fixtures.user();
+        auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        List<Link> accessible = new ArrayList<>();
+        Map<String, Link> byAlias = new HashMap<>();
+        List<Analytics> clicks = new ArrayList<>();
+
+        for (int i = 0; i < links; i++) {
+            Link link = Fixtures.link("l" + i);
+            link.setId((long) i);
+            accessible.add(link);
+            byAlias.put(link.getAlias(), link);
+            clicks.addAll(Fixtures.clicks(link.getAlias(), CLICKS_PER_LINK, i));
+        }
+
+        LinkRepository linkRepo = Stubs.repository(LinkRepository.class, Map.of(
+                "findAllAccessibleLinks", args -> accessible,
+                "findByAlias", args -> Optional.ofNullable(byAlias.get((String) args[0]))
+        ));
+        AnalyticsRepository analyticsRepo = Stubs.repository(AnalyticsRepository.class, Map.of(
+                "findAll", args -> clicks
+        ));
+
+        LinkService linkService = new LinkService(linkRepo, null, null, null);
+        userAnalyticsService = new UserAnalyticsService(analyticsRepo, linkService);
+    }
+
+    @Benchmark
+    public UserAnalyticsResponse getUserMetrics() {
+        return userAnalyticsService.getUserMetrics(auth, range, null, null);
+    }
+}
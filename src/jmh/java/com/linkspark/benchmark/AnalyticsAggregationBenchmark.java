@@ -0,0 +1,143 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.dto.AnalyticsResponse;
+import com.linkspark.model.Analytics;
+import com.linkspark.repository.AnalyticsJdbcRepository;
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.repository.AnalyticsRollupRepository;
+import com.linkspark.repository.ReferrerDomainRepository;
+import com.linkspark.service.AnalyticsService;
+import com.linkspark.service.ClickBatchWriter;
+import com.linkspark.service.ReferrerDomainDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnalyticsService#getMetricsForAlias} over a link with 10k or 1M
+ * raw clicks spread over a year. The clicks go through the production
+ * {@link ClickBatchWriter} in ingest-sized batches, which folds them into
+ * hourly and daily rollups held in memory; the stubbed rollup repository
+ * then returns only the buckets in the requested range, as the indexed
+ * queries would. The same rows feed the baseline port, where the service
+ * aggregates them on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class AnalyticsAggregationBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"10000", "1000000"})
+    public int clicks;
+
+    @Param({"24h", "7d", "30d"})
+    public String range;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setup() {
+        List<Analytics> raw = Fixtures.clicks(Fixtures.ALIAS, clicks, 42);
+
+        Map<AnalyticsRollupRepository.Key, Long> hourly = new HashMap<>();
+        Map<AnalyticsRollupRepository.Key, Long> daily = new HashMap<>();
+        ClickBatchWriter writer = inMemoryWriter(hourly, daily);
+        for (int from = 0; from < raw.size(); from += BATCH_SIZE) {
+            writer.write(raw.subList(from, Math.min(from + BATCH_SIZE, raw.size())));
+        }
+
+        NavigableMap<LocalDateTime, List<AnalyticsRollupRepository.Row>> hourlyRows = index(hourly);
+        NavigableMap<LocalDateTime, List<AnalyticsRollupRepository.Row>> dailyRows = index(daily);
+
+        AnalyticsRollupRepository rollupRepo = new AnalyticsRollupRepository(null) {
+            @Override
+            public List<Row> findHourly(String alias, LocalDateTime from) {
+                return flatten(hourlyRows.tailMap(from, true));
+            }
+
+            @Override
+            public List<Row> findDaily(String alias, LocalDate from, LocalDate to) {
+                return flatten(dailyRows.subMap(from.atStartOfDay(), true, to.atStartOfDay(), true));
+            }
+        };
+
+        List<Analytics> recent = raw.subList(0, Math.min(50, raw.size()));
+        AnalyticsRepository repo = Stubs.repository(AnalyticsRepository.class, Map.of(
+                "findTop50ByAliasOrderByClickedAtDesc", args -> recent
+        ));
+
+        analyticsService = new AnalyticsService(repo, rollupRepo, null, null, null, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public AnalyticsResponse getMetricsForAlias() {
+        return analyticsService.getMetricsForAlias(Fixtures.ALIAS, range, null, null);
+    }
+
+    /** A writer whose raw inserts are dropped and whose rollup upserts land in the given maps. */
+    private static ClickBatchWriter inMemoryWriter(Map<AnalyticsRollupRepository.Key, Long> hourly,
+                                                   Map<AnalyticsRollupRepository.Key, Long> daily) {
+        AnalyticsJdbcRepository rawRepo = new AnalyticsJdbcRepository(null) {
+            @Override
+            public void insertBatch(List<Analytics> rows) {
+            }
+        };
+        AnalyticsRollupRepository rollupRepo = new AnalyticsRollupRepository(null) {
+            @Override
+            public void incrementHourly(Map<Key, Long> deltas) {
+                deltas.forEach((k, v) -> hourly.merge(k, v, Long::sum));
+            }
+
+            @Override
+            public void incrementDaily(Map<Key, Long> deltas) {
+                deltas.forEach((k, v) -> daily.merge(k, v, Long::sum));
+            }
+        };
+        Map<String, Integer> domainIds = new HashMap<>();
+        ReferrerDomainRepository domainRepo = new ReferrerDomainRepository(null) {
+            @Override
+            public Map<String, Integer> upsert(Collection<? extends String> domains) {
+                Map<String, Integer> ids = new HashMap<>();
+                domains.forEach(d -> ids.put(d, domainIds.computeIfAbsent(d, k -> domainIds.size() + 1)));
+                return ids;
+            }
+        };
+        TransactionTemplate noTransaction = new TransactionTemplate() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                return action.doInTransaction(null);
+            }
+        };
+        return new ClickBatchWriter(rawRepo, rollupRepo, new ReferrerDomainDictionary(domainRepo), noTransaction);
+    }
+
+    private static NavigableMap<LocalDateTime, List<AnalyticsRollupRepository.Row>> index(
+            Map<AnalyticsRollupRepository.Key, Long> counts) {
+
+        NavigableMap<LocalDateTime, List<AnalyticsRollupRepository.Row>> byBucket = new TreeMap<>();
+        counts.forEach((k, v) -> byBucket
+                .computeIfAbsent(k.bucket(), b -> new ArrayList<>())
+                .add(new AnalyticsRollupRepository.Row(k.bucket(), k.dimension(), k.value(), v)));
+        return byBucket;
+    }
+
+    private static List<AnalyticsRollupRepository.Row> flatten(
+            Map<LocalDateTime, List<AnalyticsRollupRepository.Row>> buckets) {
+
+        List<AnalyticsRollupRepository.Row> rows = new ArrayList<>();
+        buckets.values().forEach(rows::addAll);
+        return rows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.config.JwtProperties;
+import com.linkspark.domain.User;
+import com.linkspark.security.JwtToken;
+import com.linkspark.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks performed by {@code JwtAuthFilter} on every authenticated
+ * request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("LKtn4r4t0Gp+F4KVOeKem1de2UDHz3bCQxvWbHpGXRY=");
+
+        jwtService = new JwtService(properties);
+        user = Fixtures.user();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public JwtToken parse() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return jwtService.isValid(token, user, "access");
+    }
+
+    /** What the filter pays per request: one parse, then checks on the parsed token. */
+    @Benchmark
+    public boolean filterPath() {
+        JwtToken parsed = jwtService.parse(token);
+        return parsed.isType("access") && jwtService.isValid(parsed, user, "access");
+    }
+}
@@ -0,0 +1,84 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.config.AnalyticsIngestProperties;
+import com.linkspark.config.ClickStreamProperties;
+import com.linkspark.config.GeoIpProperties;
+import com.linkspark.config.RedirectCacheProperties;
+import com.linkspark.controller.RedirectController;
+import com.linkspark.dto.RedirectView;
+import com.linkspark.model.Link;
+import com.linkspark.repository.LinkRepository;
+import com.linkspark.service.AnalyticsService;
+import com.linkspark.service.ClickCounter;
+import com.linkspark.service.ClickIngestor;
+import com.linkspark.service.ClickStreamService;
+import com.linkspark.service.GeoIpResolver;
+import com.linkspark.service.LinkService;
+import com.linkspark.service.RedirectCache;
+import com.linkspark.service.UserAgentParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redirect resolution with a warm alias cache, and the full
+ * {@link RedirectController#handleRedirect} path including click
+ * enrichment, enqueueing and counting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class RedirectBenchmark {
+
+    private LinkService linkService;
+    private RedirectController controller;
+    private ClickIngestor ingestor;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        Link link = Fixtures.link(Fixtures.ALIAS);
+        LinkRepository linkRepo = Stubs.repository(LinkRepository.class, Map.of(
+                "findByAlias", args -> Optional.of(link)
+        ));
+
+        linkService = new LinkService(
+                linkRepo, null, null, null,
+                new RedirectCache(new RedirectCacheProperties()),
+                new ClickCounter(null),
+                null, null, null, null, null, null, null
+        );
+        ingestor = Fixtures.discardingIngestor();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        controller = new RedirectController(linkService, new AnalyticsService(null, null, ingestor,
+                new UserAgentParser(new AnalyticsIngestProperties()),
+                new GeoIpResolver(new GeoIpProperties()),
+                new ClickStreamService(new ClickStreamProperties(), new StandardEnvironment()),
+                registry), registry);
+        request = Fixtures.redirectRequest(Fixtures.CHROME_DESKTOP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ingestor.stop();
+    }
+
+    @Benchmark
+    public RedirectView resolveCached() {
+        return linkService.getRedirectView(Fixtures.ALIAS);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> handleRedirect() {
+        return controller.handleRedirect(Fixtures.ALIAS, null, request);
+    }
+}
@@ -0,0 +1,75 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.config.AnalyticsIngestProperties;
+import com.linkspark.config.ClickStreamProperties;
+import com.linkspark.config.GeoIpProperties;
+import com.linkspark.service.AnalyticsService;
+import com.linkspark.service.ClickIngestor;
+import com.linkspark.service.ClickStreamService;
+import com.linkspark.service.GeoIpResolver;
+import com.linkspark.service.UserAgentParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnalyticsService#recordHit}: header extraction, user-agent
+ * classification and the hand-off to the ingest queue. {@code classify}
+ * measures the automaton alone, without the parse cache in front of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class UserAgentBenchmark {
+
+    private static final Map<String, String> USER_AGENTS = Map.of(
+            "chrome-desktop", Fixtures.CHROME_DESKTOP,
+            "safari-iphone", Fixtures.SAFARI_IPHONE,
+            "edge-desktop", Fixtures.EDGE_DESKTOP,
+            "firefox-android", Fixtures.FIREFOX_ANDROID,
+            "googlebot", Fixtures.GOOGLEBOT
+    );
+
+    @Param({"chrome-desktop", "safari-iphone", "edge-desktop", "firefox-android", "googlebot"})
+    public String userAgent;
+
+    private AnalyticsService analyticsService;
+    private UserAgentParser parser;
+    private String ua;
+    private ClickIngestor ingestor;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        ingestor = Fixtures.discardingIngestor();
+        parser = new UserAgentParser(new AnalyticsIngestProperties());
+        analyticsService = new AnalyticsService(null, null, ingestor, parser,
+                new GeoIpResolver(new GeoIpProperties()),
+                new ClickStreamService(new ClickStreamProperties(), new StandardEnvironment()),
+                new SimpleMeterRegistry());
+        ua = USER_AGENTS.get(userAgent);
+        request = Fixtures.redirectRequest(ua);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ingestor.stop();
+    }
+
+    @Benchmark
+    public void recordHit() {
+        analyticsService.recordHit(Fixtures.ALIAS, request);
+    }
+
+    @Benchmark
+    public UserAgentParser.UserAgentInfo classify() {
+        return parser.classify(ua);
+    }
+}
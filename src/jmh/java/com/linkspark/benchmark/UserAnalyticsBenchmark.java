@@ -0,0 +1,139 @@
+package com.linkspark.benchmark;
+
+import com.linkspark.config.RedirectCacheProperties;
+import com.linkspark.domain.User;
+import com.linkspark.dto.LinkSummary;
+import com.linkspark.dto.UserAnalyticsResponse;
+import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.repository.LinkRepository;
+import com.linkspark.repository.ReferrerDomainRepository;
+import com.linkspark.service.ClickCounter;
+import com.linkspark.service.LinkService;
+import com.linkspark.service.RedirectCache;
+import com.linkspark.service.ReferrerDomainDictionary;
+import com.linkspark.service.UserAnalyticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserAnalyticsService#getUserMetrics} for accounts of different
+ * sizes. Repository calls return pre-grouped results, so the score is the
+ * in-process assembly cost that remains after the database has done the
+ * aggregation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class UserAnalyticsBenchmark {
+
+    @Param({"100", "10000"})
+    public int links;
+
+    @Param({"7d", "90d"})
+    public String range;
+
+    private UserAnalyticsService userAnalyticsService;
+    private Authentication auth;
+
+    record Group(String name, Long clicks) implements AnalyticsRepository.GroupCount {
+        public String getName() { return name; }
+        public Long getClicks() { return clicks; }
+    }
+
+    record Id(Integer id, Long clicks) implements AnalyticsRepository.IdCount {
+        public Integer getId() { return id; }
+        public Long getClicks() { return clicks; }
+    }
+
+    record Day(LocalDate day, Long clicks) implements AnalyticsRepository.DayCount {
+        public LocalDate getDay() { return day; }
+        public Long getClicks() { return clicks; }
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        User user = Fixtures.user();
+        auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        List<LinkSummary> summaries = new ArrayList<>();
+        List<AnalyticsRepository.GroupCount> perAlias = new ArrayList<>();
+        List<AnalyticsRepository.GroupCount> perAlias24h = new ArrayList<>();
+
+        for (int i = 0; i < links; i++) {
+            String alias = "l" + i;
+            summaries.add(new LinkSummary((long) i, alias, "Link " + i, "https://example.com/" + i,
+                    0, null, false, null, null));
+            perAlias.add(new Group(alias, (long) random.nextInt(10_000)));
+            perAlias24h.add(new Group(alias, (long) random.nextInt(100)));
+        }
+
+        List<AnalyticsRepository.DayCount> perDay = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            perDay.add(new Day(LocalDate.now().minusDays(i), (long) random.nextInt(5_000)));
+        }
+
+        List<AnalyticsRepository.GroupCount> countries = groups("C", 60, random);
+        List<AnalyticsRepository.GroupCount> devices = groups("D", 3, random);
+        List<AnalyticsRepository.GroupCount> browsers = groups("B", 6, random);
+        List<AnalyticsRepository.IdCount> referrers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            referrers.add(new Id(i, (long) random.nextInt(1_000)));
+        }
+        // domain names are resolved once and then served from the dictionary cache
+        ReferrerDomainRepository domainRepo = new ReferrerDomainRepository(null) {
+            @Override
+            public Map<Integer, String> findDomains(Collection<? extends Integer> ids) {
+                Map<Integer, String> domains = new HashMap<>();
+                ids.forEach(id -> domains.put(id, "site" + id + ".com"));
+                return domains;
+            }
+        };
+
+        Map<String, java.util.function.Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("countByAliasIn", args -> 1_000_000L);
+        answers.put("countPerDay", args -> perDay);
+        answers.put("countPerAlias", args -> perAlias);
+        answers.put("countPerAliasSince", args -> perAlias24h);
+        answers.put("countPerCountry", args -> countries);
+        answers.put("countPerDevice", args -> devices);
+        answers.put("countPerBrowser", args -> browsers);
+        answers.put("countPerReferrerDomain", args -> referrers);
+        AnalyticsRepository analyticsRepo = Stubs.repository(AnalyticsRepository.class, answers);
+
+        LinkRepository linkRepo = Stubs.repository(LinkRepository.class, Map.of(
+                "findAccessibleLinkSummaries", args -> summaries
+        ));
+
+        LinkService linkService = new LinkService(
+                linkRepo, null, null, null,
+                new RedirectCache(new RedirectCacheProperties()),
+                new ClickCounter(null),
+                null, null, null, null, null, null, null
+        );
+        userAnalyticsService = new UserAnalyticsService(analyticsRepo, linkService,
+                new ReferrerDomainDictionary(domainRepo), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public UserAnalyticsResponse getUserMetrics() {
+        return userAnalyticsService.getUserMetrics(auth, range, null, null);
+    }
+
+    private static List<AnalyticsRepository.GroupCount> groups(String prefix, int n, Random random) {
+        List<AnalyticsRepository.GroupCount> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            list.add(new Group(prefix + i, (long) random.nextInt(10_000)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,26 @@
+#!/bin/sh
+# Records src/jmh/results/baseline.{json,txt}: the ports in src/jmh/baseline
+# run against the revision before any of the hot-path work (the root
+# commit unless one is given). The old tree has no jmh profile, so it is
+# built with the current pom.
+#
+#   src/jmh/record-baseline.sh [revision]
+set -eu
+
+root=$(git rev-parse --show-toplevel)
+rev=${1:-$(git -C "$root" rev-list --max-parents=0 HEAD)}
+work=$(mktemp -d)
+trap 'git -C "$root" worktree remove --force "$work"' EXIT
+
+git -C "$root" worktree add --detach "$work" "$rev"
+cp "$root/pom.xml" "$work/pom.xml"
+rm -rf "$work/src/jmh" "$work/src/test"
+mkdir -p "$work/src/jmh"
+cp -R "$root/src/jmh/baseline/java" "$work/src/jmh/java"
+
+# JMH prints the error column with a "±", which a non-UTF-8 locale mangles
+(cd "$work" && LC_ALL=C.UTF-8 mvn -B -q -Pjmh test-compile exec:exec \
+    -Djmh.args="-rf json -rff target/jmh-result.json -o target/jmh-log.txt")
+
+cp "$work/target/jmh-result.json" "$root/src/jmh/results/baseline.json"
+sed -n '/^Benchmark  /,/^$/p' "$work/target/jmh-log.txt" > "$root/src/jmh/results/baseline.txt"
@@ -0,0 +1,58 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.alias")
+public class AliasProperties {
+
+    /** "sequence" (block-leased, collision-free) or "random". */
+    private String generator = "sequence";
+    private int length = 7;
+
+    private boolean bloomEnabled = true;
+    /** Lower bound on the Bloom filter's capacity; it is sized from the link count at startup. */
+    private long bloomExpectedAliases = 1_000_000;
+    private double bloomFalsePositiveRate = 0.01;
+
+    public String getGenerator() {
+        return generator;
+    }
+
+    public void setGenerator(String generator) {
+        this.generator = generator;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public boolean isBloomEnabled() {
+        return bloomEnabled;
+    }
+
+    public void setBloomEnabled(boolean bloomEnabled) {
+        this.bloomEnabled = bloomEnabled;
+    }
+
+    public long getBloomExpectedAliases() {
+        return bloomExpectedAliases;
+    }
+
+    public void setBloomExpectedAliases(long bloomExpectedAliases) {
+        this.bloomExpectedAliases = bloomExpectedAliases;
+    }
+
+    public double getBloomFalsePositiveRate() {
+        return bloomFalsePositiveRate;
+    }
+
+    public void setBloomFalsePositiveRate(double bloomFalsePositiveRate) {
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+    }
+}
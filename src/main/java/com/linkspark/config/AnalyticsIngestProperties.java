@@ -0,0 +1,46 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.ingest")
+public class AnalyticsIngestProperties {
+
+    private int queueCapacity = 50_000;
+    private int flushSize = 500;
+    private long flushIntervalMs = 1_000;
+    private long userAgentCacheSize = 10_000;
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public long getUserAgentCacheSize() {
+        return userAgentCacheSize;
+    }
+
+    public void setUserAgentCacheSize(long userAgentCacheSize) {
+        this.userAgentCacheSize = userAgentCacheSize;
+    }
+}
@@ -0,0 +1,50 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.partitions")
+public class AnalyticsPartitionProperties {
+
+    public enum Interval { DAY, WEEK, MONTH }
+
+    public enum RetentionAction { DROP, DETACH }
+
+    private Interval interval = Interval.MONTH;
+    private int premake = 2;             // future partitions kept ready
+    private int retentionDays = 0;       // 0 keeps raw clicks forever
+    private RetentionAction retentionAction = RetentionAction.DROP;
+
+    public Interval getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Interval interval) {
+        this.interval = interval;
+    }
+
+    public int getPremake() {
+        return premake;
+    }
+
+    public void setPremake(int premake) {
+        this.premake = premake;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public RetentionAction getRetentionAction() {
+        return retentionAction;
+    }
+
+    public void setRetentionAction(RetentionAction retentionAction) {
+        this.retentionAction = retentionAction;
+    }
+}
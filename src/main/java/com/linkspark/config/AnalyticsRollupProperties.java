@@ -0,0 +1,19 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.rollup")
+public class AnalyticsRollupProperties {
+
+    private long hourlyRetentionHours = 168; // 7 days
+
+    public long getHourlyRetentionHours() {
+        return hourlyRetentionHours;
+    }
+
+    public void setHourlyRetentionHours(long hourlyRetentionHours) {
+        this.hourlyRetentionHours = hourlyRetentionHours;
+    }
+}
@@ -0,0 +1,64 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.stream")
+public class ClickStreamProperties {
+
+    private long intervalMs = 1_000;        // at most one update per subscriber per interval
+    private long heartbeatMs = 15_000;      // comment sent on idle streams to detect dead clients
+    private long timeoutMs = 1_800_000;     // clients reconnect after this (EventSource does so itself)
+    private long stallMs = 30_000;          // a subscriber whose running send has not finished by then is dropped
+    private int maxSubscribers = 10_000;
+    private int senderThreads = 4;
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public long getHeartbeatMs() {
+        return heartbeatMs;
+    }
+
+    public void setHeartbeatMs(long heartbeatMs) {
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public long getStallMs() {
+        return stallMs;
+    }
+
+    public void setStallMs(long stallMs) {
+        this.stallMs = stallMs;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+}
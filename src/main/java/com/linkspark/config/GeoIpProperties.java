@@ -0,0 +1,40 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.geoip")
+public class GeoIpProperties {
+
+    private List<String> databases = new ArrayList<>();   // empty disables lookups
+    private String locations;                              // MaxMind *-Locations-*.csv, blocks files only
+    private long reloadCheckMs = 60_000;
+
+    public List<String> getDatabases() {
+        return databases;
+    }
+
+    public void setDatabases(List<String> databases) {
+        this.databases = databases;
+    }
+
+    public String getLocations() {
+        return locations;
+    }
+
+    public void setLocations(String locations) {
+        this.locations = locations;
+    }
+
+    public long getReloadCheckMs() {
+        return reloadCheckMs;
+    }
+
+    public void setReloadCheckMs(long reloadCheckMs) {
+        this.reloadCheckMs = reloadCheckMs;
+    }
+}
@@ -11,6 +11,8 @@ public class JwtProperties {
     private long accessTtlSeconds = 2_592_000; // 30 days
     private long refreshTtlSeconds = 5_184_000; // 60 days
     private String issuer = "linkspark";
+    private long principalCacheTtlSeconds = 300;
+    private long principalCacheMaxSize = 10_000;
 
     public String getSecret() {
         return secret;
@@ -43,5 +45,20 @@ public class JwtProperties {
     public void setIssuer(String issuer) {
         this.issuer = issuer;
     }
-}
 
+    public long getPrincipalCacheTtlSeconds() {
+        return principalCacheTtlSeconds;
+    }
+
+    public void setPrincipalCacheTtlSeconds(long principalCacheTtlSeconds) {
+        this.principalCacheTtlSeconds = principalCacheTtlSeconds;
+    }
+
+    public long getPrincipalCacheMaxSize() {
+        return principalCacheMaxSize;
+    }
+
+    public void setPrincipalCacheMaxSize(long principalCacheMaxSize) {
+        this.principalCacheMaxSize = principalCacheMaxSize;
+    }
+}
@@ -0,0 +1,55 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.links.verify")
+public class PasswordVerifyProperties {
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;     // attempts beyond threads + queue get a 429
+    private int attemptsPerWindow = 10; // per link, before the database is consulted
+    private long windowSeconds = 60;
+    private long maxTrackedLinks = 100_000;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getAttemptsPerWindow() {
+        return attemptsPerWindow;
+    }
+
+    public void setAttemptsPerWindow(int attemptsPerWindow) {
+        this.attemptsPerWindow = attemptsPerWindow;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public long getMaxTrackedLinks() {
+        return maxTrackedLinks;
+    }
+
+    public void setMaxTrackedLinks(long maxTrackedLinks) {
+        this.maxTrackedLinks = maxTrackedLinks;
+    }
+}
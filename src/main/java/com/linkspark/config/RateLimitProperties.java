@@ -0,0 +1,103 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private long maxTrackedKeys = 100_000;              // per route and key type
+    private Map<String, Route> routes = new LinkedHashMap<>();  // first match wins
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(long maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * A path pattern with a token bucket per client IP and, if the pattern
+     * has an {@code {alias}} variable, per alias. A capacity of 0 turns that
+     * bucket off.
+     */
+    public static class Route {
+
+        private String pattern;
+        private String method;              // null matches any
+        private int ipCapacity;
+        private double ipPerSecond;
+        private int aliasCapacity;
+        private double aliasPerSecond;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public int getIpCapacity() {
+            return ipCapacity;
+        }
+
+        public void setIpCapacity(int ipCapacity) {
+            this.ipCapacity = ipCapacity;
+        }
+
+        public double getIpPerSecond() {
+            return ipPerSecond;
+        }
+
+        public void setIpPerSecond(double ipPerSecond) {
+            this.ipPerSecond = ipPerSecond;
+        }
+
+        public int getAliasCapacity() {
+            return aliasCapacity;
+        }
+
+        public void setAliasCapacity(int aliasCapacity) {
+            this.aliasCapacity = aliasCapacity;
+        }
+
+        public double getAliasPerSecond() {
+            return aliasPerSecond;
+        }
+
+        public void setAliasPerSecond(double aliasPerSecond) {
+            this.aliasPerSecond = aliasPerSecond;
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.linkspark.config;
 
 import com.linkspark.security.JwtAuthFilter;
 import com.linkspark.security.OAuthSuccessHandler;
+import com.linkspark.security.RateLimitFilter;
+import com.linkspark.security.TimedPasswordEncoder;
 import com.linkspark.service.CustomOAuth2UserService;
 import com.linkspark.service.JwtService;
 import com.linkspark.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,22 +34,36 @@ public class SecurityConfig {
     private final UserService userService;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuthSuccessHandler oAuthSuccessHandler;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
+    private final ManagementServerProperties managementServer;
 
     public SecurityConfig(
             JwtService jwtService,
             UserService userService,
             CustomOAuth2UserService customOAuth2UserService,
-            OAuthSuccessHandler oAuthSuccessHandler
+            OAuthSuccessHandler oAuthSuccessHandler,
+            MeterRegistry meterRegistry,
+            RateLimitProperties rateLimitProperties,
+            ManagementServerProperties managementServer
     ) {
         this.jwtService = jwtService;
         this.userService = userService;
         this.customOAuth2UserService = customOAuth2UserService;
         this.oAuthSuccessHandler = oAuthSuccessHandler;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitProperties = rateLimitProperties;
+        this.managementServer = managementServer;
+    }
+
+    private boolean onManagementPort(HttpServletRequest request) {
+        Integer port = managementServer.getPort();
+        return port != null && port > 0 && request.getLocalPort() == port;
     }
 
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtService, userService);
+        return new JwtAuthFilter(jwtService, userService, meterRegistry);
     }
 
     @Bean
@@ -74,7 +94,18 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // streamed responses (SSE, exports) finish on an async dispatch; the
+                        // request was authorized when it started and carries no token again.
+                        // Likewise the error page rendering a thrown 404/423/429, which would
+                        // otherwise be masked as a 401
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         .requestMatchers("/api/auth/**").permitAll()
+                        // health is public; the scrape endpoint only without a token when it
+                        // arrives on the management port, which is bound to a private address
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(request -> onManagementPort(request)
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
 
                         .requestMatchers(HttpMethod.GET, "/api/links/check-alias").permitAll()
@@ -100,6 +131,12 @@ public class SecurityConfig {
                         .successHandler(oAuthSuccessHandler)
                 );
 
+        if (rateLimitProperties.isEnabled()) {
+            // not a bean: Boot would also register it as a servlet filter and every
+            // request would be counted twice
+            http.addFilterBefore(new RateLimitFilter(rateLimitProperties, meterRegistry), JwtAuthFilter.class);
+        }
+
         return http.build();
     }
 
@@ -118,7 +155,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
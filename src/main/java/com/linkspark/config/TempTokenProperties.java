@@ -0,0 +1,56 @@
+package com.linkspark.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.links.temp-tokens")
+public class TempTokenProperties {
+
+    /** "memory" (single-use, per node) or "signed" (stateless, shared by all nodes). */
+    private String store = "memory";
+    private long ttlSeconds = 300;
+    private int maxSize = 100_000;          // memory store; oldest tokens are evicted beyond this
+    private long purgeIntervalMs = 5_000;   // memory store
+    private String secret;                  // signed store, base64
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getPurgeIntervalMs() {
+        return purgeIntervalMs;
+    }
+
+    public void setPurgeIntervalMs(long purgeIntervalMs) {
+        this.purgeIntervalMs = purgeIntervalMs;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+}
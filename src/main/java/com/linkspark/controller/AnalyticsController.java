@@ -1,12 +1,23 @@
 package com.linkspark.controller;
 
 import com.linkspark.dto.AnalyticsResponse;
+import com.linkspark.service.AnalyticsExportService;
+import com.linkspark.service.AnalyticsExportService.Format;
 import com.linkspark.service.AnalyticsService;
+import com.linkspark.service.ClickStreamService;
 import com.linkspark.service.LinkService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/links")
@@ -15,6 +26,8 @@ public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
     private final LinkService linkService;
+    private final AnalyticsExportService exportService;
+    private final ClickStreamService clickStream;
 
     @GetMapping("/id/{id}/analytics")
     public ResponseEntity<AnalyticsResponse> getAnalytics(
@@ -30,4 +43,31 @@ public class AnalyticsController {
         AnalyticsResponse resp = analyticsService.getMetricsForAlias(alias, range, start, end);
         return ResponseEntity.ok(resp);
     }
+
+    @GetMapping(value = "/id/{id}/analytics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long id, Authentication auth) {
+        String alias = linkService.getOneLink(id, auth).getAlias();
+        return clickStream.subscribe(Set.of(alias), null);
+    }
+
+    @GetMapping("/id/{id}/analytics/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "30d") String range,
+            @RequestParam(required = false) String start,
+            @RequestParam(required = false) String end,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication auth
+    ) {
+        String alias = linkService.getOneLink(id, auth).getAlias();
+        Format f = Format.parse(format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clicks-" + alias + "." + f.extension)
+                        .build()
+                        .toString())
+                .body(exportService.export(List.of(alias), exportService.resolveRange(range, start, end), f));
+    }
 }
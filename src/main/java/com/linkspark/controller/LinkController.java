@@ -1,17 +1,26 @@
 package com.linkspark.controller;
 
+import com.linkspark.dto.BulkDtos.BulkResult;
 import com.linkspark.dto.CreateLinkRequest;
 import com.linkspark.dto.LinkDto;
+import com.linkspark.dto.LinkPage;
+import com.linkspark.dto.LinkQuery;
 import com.linkspark.dto.UpdateLinkRequest;
 import com.linkspark.model.Link;
+import com.linkspark.service.BulkLinkService;
 import com.linkspark.service.LinkService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/links")
@@ -19,6 +28,7 @@ import java.util.Map;
 public class LinkController {
 
     private final LinkService linkService;
+    private final BulkLinkService bulkLinkService;
 
     @PostMapping
     public ResponseEntity<?> create(
@@ -32,6 +42,36 @@ public class LinkController {
         );
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> bulkCreate(
+            InputStream body,
+            Authentication auth
+    ) throws IOException {
+        return ResponseEntity.ok(
+                bulkLinkService.create(body, auth)
+        );
+    }
+
+    @PutMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> bulkUpdate(
+            InputStream body,
+            Authentication auth
+    ) throws IOException {
+        return ResponseEntity.ok(
+                bulkLinkService.update(body, auth)
+        );
+    }
+
+    @DeleteMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResult> bulkDelete(
+            InputStream body,
+            Authentication auth
+    ) throws IOException {
+        return ResponseEntity.ok(
+                bulkLinkService.delete(body, auth)
+        );
+    }
+
     @GetMapping("/check-alias")
     public ResponseEntity<?> checkAlias(@RequestParam String alias) {
         return ResponseEntity.ok(
@@ -39,10 +79,24 @@ public class LinkController {
         );
     }
 
+    /**
+     * Every accessible link in one response, with no upper bound. Kept for
+     * existing clients only; responses carry a {@code Deprecation} header
+     * and point to {@code /api/links/page} as the successor.
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<List<LinkDto>> getAll(Authentication auth) {
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/links/page>; rel=\"successor-version\"")
+                .body(linkService.getAllLinks(auth));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<LinkPage> getPage(LinkQuery query, Authentication auth) {
         return ResponseEntity.ok(
-                linkService.getAllLinks(auth)
+                linkService.getLinkPage(query, auth)
         );
     }
 
@@ -99,36 +153,34 @@ public class LinkController {
     }
 
     @PostMapping("/{alias}/verify")
-    public ResponseEntity<?> verify(
+    public CompletableFuture<ResponseEntity<?>> verify(
             @PathVariable String alias,
             @RequestBody Map<String, String> body
     ) {
         String password = body.get("password");
 
         if (password == null) {
-            return ResponseEntity.badRequest()
-                    .body(Map.of("message", "Password required"));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("message", "Password required")));
         }
 
-        String token = linkService.verifyPasswordAndCreateToken(alias, password, 300);
-
-        if (token != null) {
-            return ResponseEntity.ok(
-                    Map.of("ok", true, "token", token)
+        // completes on a verifier thread; the request thread is released meanwhile
+        return linkService.verifyPasswordAndCreateToken(alias, password).thenApply(result -> {
+            if (result.token() != null) {
+                return ResponseEntity.ok(
+                        Map.of("ok", true, "token", result.token())
+                );
+            }
+
+            if (result.lockedSeconds() > 0) {
+                return ResponseEntity.status(423).body(
+                        Map.of("ok", false, "locked", true, "lockedSeconds", result.lockedSeconds())
+                );
+            }
+
+            return ResponseEntity.status(401).body(
+                    Map.of("ok", false, "message", "Invalid password")
             );
-        }
-
-        Link link = linkService.getLinkByAlias(alias);
-        long remaining = linkService.getRemainingLockSeconds(link);
-
-        if (remaining > 0) {
-            return ResponseEntity.status(423).body(
-                    Map.of("ok", false, "locked", true, "lockedSeconds", remaining)
-            );
-        }
-
-        return ResponseEntity.status(401).body(
-                Map.of("ok", false, "message", "Invalid password")
-        );
+        });
     }
 }
@@ -1,43 +1,62 @@
 package com.linkspark.controller;
 
-import com.linkspark.model.Link;
+import com.linkspark.dto.RedirectView;
 import com.linkspark.service.AnalyticsService;
 import com.linkspark.service.LinkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-
 @RestController
-@RequiredArgsConstructor
 public class RedirectController {
 
     private final LinkService linkService;
     private final AnalyticsService analyticsService;
 
+    // per-stage timers; the request as a whole is already in http.server.requests
+    private final Timer lookupTimer;
+    private final Timer tokenTimer;
+    private final Timer recordHitTimer;
+    private final Timer registerClickTimer;
+
+    public RedirectController(LinkService linkService, AnalyticsService analyticsService, MeterRegistry registry) {
+        this.linkService = linkService;
+        this.analyticsService = analyticsService;
+        this.lookupTimer = stageTimer(registry, "lookup");
+        this.tokenTimer = stageTimer(registry, "token");
+        this.recordHitTimer = stageTimer(registry, "record_hit");
+        this.registerClickTimer = stageTimer(registry, "register_click");
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("linkspark.redirect.stage")
+                .description("Time spent in each step of a redirect")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
     @GetMapping("/{alias}")
     public ResponseEntity<?> handleRedirect(
             @PathVariable String alias,
             @RequestParam(value = "token", required = false) String token,
             HttpServletRequest request
     ) {
-        Link link = linkService.getLinkByAlias(alias);
+        RedirectView link = lookupTimer.record(() -> linkService.getRedirectView(alias));
 
-        if (link.getExpiresAt() != null &&
-                link.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (link.isExpired()) {
             return ResponseEntity.status(410).body("Link expired");
         }
 
-        if (link.isPasswordProtect()) {
+        if (link.passwordProtect()) {
             if (token == null) {
                 return ResponseEntity.status(302)
                         .header("Location", "http://localhost:3000/open/" + alias)
                         .build();
             }
 
-            boolean ok = linkService.validateAndConsumeTempToken(token, alias);
+            boolean ok = tokenTimer.record(() -> linkService.validateAndConsumeTempToken(token, alias));
             if (!ok) {
                 return ResponseEntity.status(302)
                         .header("Location", "http://localhost:3000/open/" + alias)
@@ -45,11 +64,11 @@ public class RedirectController {
             }
         }
 
-        analyticsService.recordHit(alias, request);
-        linkService.registerClick(link);
+        recordHitTimer.record(() -> analyticsService.recordHit(alias, request));
+        registerClickTimer.record(() -> linkService.registerClick(link));
 
         return ResponseEntity.status(302)
-                .header("Location", link.getOriginalUrl())
+                .header("Location", link.originalUrl())
                 .build();
     }
 }
@@ -1,11 +1,25 @@
 package com.linkspark.controller;
 
 import com.linkspark.dto.UserAnalyticsResponse;
+import com.linkspark.dto.LinkSummary;
+import com.linkspark.service.AnalyticsExportService;
+import com.linkspark.service.AnalyticsExportService.Format;
+import com.linkspark.service.ClickStreamService;
+import com.linkspark.service.LinkService;
 import com.linkspark.service.UserAnalyticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -13,6 +27,9 @@ import org.springframework.web.bind.annotation.*;
 public class UserAnalyticsController {
 
     private final UserAnalyticsService userAnalyticsService;
+    private final LinkService linkService;
+    private final AnalyticsExportService exportService;
+    private final ClickStreamService clickStream;
 
     @GetMapping("/user")
     public ResponseEntity<UserAnalyticsResponse> getUserAnalytics(
@@ -25,5 +42,34 @@ public class UserAnalyticsController {
                 userAnalyticsService.getUserMetrics(auth, range, start, end)
         );
     }
-}
 
+    /** Live clicks across the links accessible when the stream opens; reconnect to pick up new ones. */
+    @GetMapping(value = "/user/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication auth) {
+        Map<String, Long> linkIds = linkService.getAccessibleLinkSummaries(auth).stream()
+                .collect(Collectors.toMap(LinkSummary::alias, LinkSummary::id));
+        return clickStream.subscribe(linkIds.keySet(), linkIds);
+    }
+
+    @GetMapping("/user/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "30d") String range,
+            @RequestParam(required = false) String start,
+            @RequestParam(required = false) String end,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication auth
+    ) {
+        List<String> aliases = linkService.getAccessibleLinkSummaries(auth).stream()
+                .map(LinkSummary::alias)
+                .toList();
+        Format f = Format.parse(format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clicks." + f.extension)
+                        .build()
+                        .toString())
+                .body(exportService.export(aliases, exportService.resolveRange(range, start, end), f));
+    }
+}
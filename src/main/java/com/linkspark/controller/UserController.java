@@ -6,10 +6,15 @@ import com.linkspark.dto.UpdateProfileRequest;
 import com.linkspark.dto.UserProfileDto;
 import com.linkspark.model.enums.AuthProvider;
 import com.linkspark.repository.UserRepository;
+import com.linkspark.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,6 +23,7 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
 
     @GetMapping("/me")
     public UserProfileDto me(Authentication auth) {
@@ -37,12 +43,13 @@ public class UserController {
             Authentication auth,
             @RequestBody UpdateProfileRequest req
     ) {
-        User user = (User) auth.getPrincipal();
+        User user = loadCurrentUser(auth);
 
         user.setName(req.name());
         user.setCompany(req.company());
 
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
 
         return new UserProfileDto(
                 user.getId(),
@@ -59,7 +66,7 @@ public class UserController {
             Authentication auth,
             @RequestBody ChangePasswordRequest req
     ) {
-        User user = (User) auth.getPrincipal();
+        User user = loadCurrentUser(auth);
 
         if (user.getProvider() != AuthProvider.LOCAL) {
             throw new IllegalStateException("OAuth users cannot change password");
@@ -71,6 +78,13 @@ public class UserController {
 
         user.setPasswordHash(passwordEncoder.encode(req.newPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
     }
-}
 
+    /** The principal is a read-only copy; changes go through a freshly loaded entity. */
+    private User loadCurrentUser(Authentication auth) {
+        UUID id = ((User) auth.getPrincipal()).getId();
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+}
@@ -12,6 +12,7 @@ public class AnalyticsResponse {
         public List<CountryMetric> countries;
         public List<DeviceMetric> devices;
         public List<BrowserMetric> browsers;
+        public List<OsMetric> os;
         public List<ReferrerMetric> referrers;
     }
 
@@ -38,6 +39,11 @@ public class AnalyticsResponse {
         public long clicks;
     }
 
+    public static class OsMetric {
+        public String name;
+        public long clicks;
+    }
+
     public static class ReferrerMetric {
         public String domain;
         public long clicks;
@@ -49,6 +55,7 @@ public class AnalyticsResponse {
         public String referrer;
         public String device;
         public String browser;
+        public String os;
     }
 }
 
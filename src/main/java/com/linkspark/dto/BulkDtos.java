@@ -0,0 +1,40 @@
+package com.linkspark.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+public class BulkDtos {
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class BulkUpdateItem extends UpdateLinkRequest {
+        private Long id;
+    }
+
+    public record BulkDeleteItem(Long id) {}
+
+    public record BulkItemResult(
+            int index,
+            String status,
+            Long id,
+            String alias,
+            String error
+    ) {
+        public static BulkItemResult ok(int index, String status, Long id, String alias) {
+            return new BulkItemResult(index, status, id, alias, null);
+        }
+
+        public static BulkItemResult failed(int index, String error) {
+            return new BulkItemResult(index, "failed", null, null, error);
+        }
+    }
+
+    public record BulkResult(
+            int total,
+            int succeeded,
+            int failed,
+            List<BulkItemResult> results
+    ) {}
+}
@@ -0,0 +1,20 @@
+package com.linkspark.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One coalesced SSE update: everything that happened on the subscribed
+ * links since the previous update sent to the same client.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClickStreamUpdate {
+    public long clicks;
+    public Map<Long, Long> links;           // clicks per link id, user streams only
+    public Map<String, Long> countries;
+    public Map<String, Long> devices;
+    public Map<String, Long> browsers;
+    public List<AnalyticsResponse.RecentClick> recent;
+}
@@ -0,0 +1,8 @@
+package com.linkspark.dto;
+
+import java.util.List;
+
+public record LinkPage(
+        List<LinkDto> items,
+        String nextCursor
+) {}
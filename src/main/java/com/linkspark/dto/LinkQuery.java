@@ -0,0 +1,21 @@
+package com.linkspark.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Query parameters for the paginated link listing. All filters are
+ * optional; {@code cursor} is the {@code nextCursor} of the previous page.
+ */
+@Data
+public class LinkQuery {
+    private String cursor;
+    private Integer limit;
+    private String sort = "createdAt";
+    private String tag;
+    private UUID teamId;
+    private Boolean expired;
+    private Boolean passwordProtected;
+    private String q;
+}
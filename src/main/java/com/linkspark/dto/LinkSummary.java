@@ -0,0 +1,20 @@
+package com.linkspark.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat read-only view of a link with its team already joined, for
+ * listings that do not need the entity.
+ */
+public record LinkSummary(
+        Long id,
+        String alias,
+        String title,
+        String originalUrl,
+        int clicks,
+        LocalDateTime expiresAt,
+        boolean passwordProtect,
+        UUID teamId,
+        String teamName
+) {}
@@ -0,0 +1,35 @@
+package com.linkspark.dto;
+
+import com.linkspark.model.Link;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable subset of a {@link Link} needed to serve a redirect.
+ * Safe to cache and share between request threads.
+ */
+public record RedirectView(
+        Long id,
+        String alias,
+        String originalUrl,
+        int redirectType,
+        LocalDateTime expiresAt,
+        boolean passwordProtect,
+        boolean enableAnalytics
+) {
+    public static RedirectView from(Link link) {
+        return new RedirectView(
+                link.getId(),
+                link.getAlias(),
+                link.getOriginalUrl(),
+                link.getRedirectType(),
+                link.getExpiresAt(),
+                link.isPasswordProtect(),
+                link.isEnableAnalytics()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(LocalDateTime.now());
+    }
+}
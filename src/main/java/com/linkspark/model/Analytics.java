@@ -22,10 +22,19 @@ public class Analytics {
 
     private String referer;
 
+    // referrer_domains.id of the normalized referer host
+    private Integer referrerDomainId;
+
     private String country;
     private String device;
     private String browser;
+    private String os;
+
+    @Column(nullable = false)
+    private boolean bot;
 
+    // partition key of the analytics table
+    @Column(nullable = false)
     private LocalDateTime clickedAt = LocalDateTime.now();
 }
 
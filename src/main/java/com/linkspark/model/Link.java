@@ -4,6 +4,8 @@ import com.linkspark.domain.Team;
 import com.linkspark.domain.User;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,8 +13,14 @@ import java.util.Arrays;
 import java.util.List;
 
 @Entity
-@Table(name = "links")
+@Table(name = "links", indexes = {
+        @Index(name = "idx_links_owner_created", columnList = "owner_id, created_at DESC, id DESC"),
+        @Index(name = "idx_links_team_created", columnList = "team_id, created_at DESC, id DESC"),
+        @Index(name = "idx_links_owner_clicks", columnList = "owner_id, clicks DESC, id DESC"),
+        @Index(name = "idx_links_team_clicks", columnList = "team_id, clicks DESC, id DESC")
+})
 @Data
+@DynamicUpdate
 public class Link {
 
     @Id
@@ -62,7 +70,9 @@ public class Link {
 
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "link_week_clicks", joinColumns = @JoinColumn(name = "link_id"))
+    @OrderColumn(name = "day_index")
     @Column(name = "click")
     private List<Integer> weekClicks = new ArrayList<>(Arrays.asList(0, 0, 0, 0, 0, 0, 0));
 }
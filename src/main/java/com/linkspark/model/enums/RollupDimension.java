@@ -0,0 +1,10 @@
+package com.linkspark.model.enums;
+
+public enum RollupDimension {
+    TOTAL,
+    COUNTRY,
+    DEVICE,
+    BROWSER,
+    OS,
+    REFERRER
+}
@@ -0,0 +1,52 @@
+package com.linkspark.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reads raw click rows through a forward-only cursor. The PostgreSQL
+ * driver only honours the fetch size inside a transaction, so the read
+ * runs in one; without it the whole result would be buffered in memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsExportRepository {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbc;
+
+    @Transactional(readOnly = true)
+    public void forEachClick(Collection<String> aliases, LocalDateTime from, LocalDateTime to,
+                             RowCallbackHandler handler) {
+        String[] array = aliases.toArray(String[]::new);
+
+        jdbc.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement("""
+                                    select clicked_at, alias, country, device, browser, os, bot, referer, user_agent
+                                    from analytics
+                                    where alias = any(?)
+                                      and clicked_at >= ? and clicked_at < ?
+                                    order by clicked_at
+                                    """,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setArray(1, con.createArrayOf("varchar", array));
+                    ps.setTimestamp(2, Timestamp.valueOf(from));
+                    ps.setTimestamp(3, Timestamp.valueOf(to));
+                    return ps;
+                },
+                handler);
+    }
+}
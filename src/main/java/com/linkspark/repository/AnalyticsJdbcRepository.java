@@ -0,0 +1,86 @@
+package com.linkspark.repository;
+
+import com.linkspark.model.Analytics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the analytics table for paths where JPA's
+ * IDENTITY inserts would defeat batching.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsJdbcRepository {
+
+    public record PendingReferrer(long id, LocalDateTime clickedAt, String referer) {}
+
+    private final JdbcTemplate jdbc;
+
+    public void insertBatch(List<Analytics> rows) {
+        jdbc.batchUpdate("""
+                insert into analytics (alias, ip, user_agent, referer, referrer_domain_id,
+                                       country, device, browser, os, bot, clicked_at)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                rows,
+                rows.size(),
+                (ps, a) -> {
+                    ps.setString(1, a.getAlias());
+                    ps.setString(2, a.getIp());
+                    ps.setString(3, a.getUserAgent());
+                    ps.setString(4, a.getReferer());
+                    ps.setObject(5, a.getReferrerDomainId(), Types.INTEGER);
+                    ps.setString(6, a.getCountry());
+                    ps.setString(7, a.getDevice());
+                    ps.setString(8, a.getBrowser());
+                    ps.setString(9, a.getOs());
+                    ps.setBoolean(10, a.isBot());
+                    ps.setTimestamp(11, Timestamp.valueOf(a.getClickedAt()));
+                });
+    }
+
+    /** Clicks stored before referrers were normalized at ingest. */
+    public List<PendingReferrer> findPendingReferrers(int limit) {
+        return jdbc.query("""
+                        select id, clicked_at, referer
+                        from analytics
+                        where referrer_domain_id is null
+                        limit ?
+                        """,
+                (rs, i) -> new PendingReferrer(
+                        rs.getLong("id"), rs.getTimestamp("clicked_at").toLocalDateTime(), rs.getString("referer")),
+                limit);
+    }
+
+    public int setReferrerDomains(List<PendingReferrer> rows, List<Integer> domainIds) {
+        Long[] ids = new Long[rows.size()];
+        Timestamp[] clickedAt = new Timestamp[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = rows.get(i).id();
+            clickedAt[i] = Timestamp.valueOf(rows.get(i).clickedAt());
+        }
+        Integer[] domains = domainIds.toArray(Integer[]::new);
+
+        // clicked_at is the partition key, so the join can prune partitions
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    update analytics a
+                    set referrer_domain_id = v.domain_id
+                    from unnest(?::bigint[], ?::timestamp[], ?::int[]) as v(id, clicked_at, domain_id)
+                    where a.id = v.id and a.clicked_at = v.clicked_at
+                      and a.referrer_domain_id is null
+                    """);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("timestamp", clickedAt));
+            ps.setArray(3, con.createArrayOf("int4", domains));
+            return ps;
+        });
+    }
+}
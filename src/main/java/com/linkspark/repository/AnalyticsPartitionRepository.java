@@ -0,0 +1,127 @@
+package com.linkspark.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the range partitions of the analytics table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsPartitionRepository {
+
+    private static final Pattern RANGE = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /** Catches rows no range partition covers; created by V6. */
+    private static final String DEFAULT_PARTITION = "analytics_default";
+
+    /** Where {@link #expireDefault} keeps rows when retention detaches rather than drops. */
+    private static final String DEFAULT_EXPIRED = "analytics_default_expired";
+
+    private final JdbcTemplate jdbc;
+
+    /** A range partition covering [from, to). */
+    public record Partition(String name, LocalDateTime from, LocalDateTime to) {}
+
+    /** Range partitions currently attached, oldest first. The default partition is left out. */
+    public List<Partition> findPartitions() {
+        return jdbc.query("""
+                        select c.relname, pg_get_expr(c.relpartbound, c.oid)
+                        from pg_inherits i
+                        join pg_class c on c.oid = i.inhrelid
+                        where i.inhparent = 'analytics'::regclass
+                        """,
+                        (rs, n) -> {
+                            Matcher m = RANGE.matcher(rs.getString(2));
+                            return m.find()
+                                    ? new Partition(rs.getString(1), parse(m.group(1)), parse(m.group(2)))
+                                    : null;
+                        })
+                .stream()
+                .filter(p -> p != null)
+                .sorted((a, b) -> a.from().compareTo(b.from()))
+                .toList();
+    }
+
+    /** A partition made by {@link #create}, with the rows it took over from the default partition. */
+    public record Created(String name, int movedRows) {}
+
+    /**
+     * Creates the partition for [from, to). Clicks written while it was
+     * missing sit in the default partition, and Postgres refuses to create
+     * a partition whose range the default already holds rows for. In that
+     * case the default is detached, the partition created, the rows moved
+     * across and the default attached again, in one transaction; writers
+     * to analytics wait on its lock rather than fail.
+     */
+    @Transactional
+    public Created create(LocalDateTime from, LocalDateTime to) {
+        String name = "analytics_p" + from.format(SUFFIX);
+        String range = " for values from ('" + from.format(BOUND) + "') to ('" + to.format(BOUND) + "')";
+        Timestamp lower = Timestamp.valueOf(from), upper = Timestamp.valueOf(to);
+
+        if (jdbc.queryForObject("select to_regclass(?) is not null", Boolean.class, name)) {
+            return new Created(name, 0);
+        }
+
+        boolean stranded = jdbc.queryForObject(
+                "select exists (select 1 from " + DEFAULT_PARTITION + " where clicked_at >= ? and clicked_at < ?)",
+                Boolean.class, lower, upper);
+        if (!stranded) {
+            jdbc.execute("create table " + name + " partition of analytics" + range);
+            return new Created(name, 0);
+        }
+
+        jdbc.execute("alter table analytics detach partition " + DEFAULT_PARTITION);
+        jdbc.execute("create table " + name + " partition of analytics" + range);
+        int moved = jdbc.update("with moved as (delete from " + DEFAULT_PARTITION
+                + " where clicked_at >= ? and clicked_at < ? returning *) insert into " + name
+                + " select * from moved", lower, upper);
+        jdbc.execute("alter table analytics attach partition " + DEFAULT_PARTITION + " default");
+        return new Created(name, moved);
+    }
+
+    /**
+     * Removes rows older than {@code cutoff} from the default partition,
+     * which retention cannot drop or detach as a whole: clicks V6 found
+     * without a timestamp (stored as 1970-01-01) and any written before the
+     * oldest range partition. With {@code keep} the rows are moved to a
+     * standalone table instead, like the ones detached partitions leave.
+     */
+    @Transactional
+    public int expireDefault(LocalDateTime cutoff, boolean keep) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        if (!keep) {
+            return jdbc.update("delete from " + DEFAULT_PARTITION + " where clicked_at < ?", before);
+        }
+
+        jdbc.execute("create table if not exists " + DEFAULT_EXPIRED + " (like analytics)");
+        return jdbc.update("with moved as (delete from " + DEFAULT_PARTITION
+                + " where clicked_at < ? returning *) insert into " + DEFAULT_EXPIRED
+                + " select * from moved", before);
+    }
+
+    public void drop(String name) {
+        jdbc.execute("drop table if exists " + name);
+    }
+
+    /** Detaches a partition, leaving its rows in a standalone table of the same name. */
+    public void detach(String name) {
+        jdbc.execute("alter table analytics detach partition " + name);
+    }
+
+    private static LocalDateTime parse(String bound) {
+        return LocalDateTime.parse(bound.length() > 19 ? bound.substring(0, 19) : bound, BOUND);
+    }
+}
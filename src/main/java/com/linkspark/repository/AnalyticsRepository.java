@@ -2,12 +2,115 @@ package com.linkspark.repository;
 
 import com.linkspark.model.Analytics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public interface AnalyticsRepository extends JpaRepository<Analytics, Long> {
     List<Analytics> findByAliasOrderByClickedAtDesc(String alias);
     List<Analytics> findByAliasAndClickedAtAfter(String alias, LocalDateTime after);
-}
+    List<Analytics> findTop50ByAliasOrderByClickedAtDesc(String alias);
+
+    /*
+     * The queries below are scoped to a user's whole set of links, which can
+     * run to any size. They are native so the aliases travel as a single
+     * varchar[] bind parameter: an IN list needs one parameter per alias and
+     * fails past the driver's 65535-parameter limit. "= any(array)" is
+     * planned the same way as the IN list, on (alias, clicked_at).
+     */
+
+    @Query(nativeQuery = true, value = """
+        select * from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        order by clicked_at desc
+        limit 10
+    """)
+    List<Analytics> findTop10ByAliasInOrderByClickedAtDesc(String[] aliases);
+
+    @Query(nativeQuery = true, value = """
+        select count(*) from analytics
+        where alias = any(cast(:aliases as varchar[]))
+    """)
+    long countByAliasIn(String[] aliases);
+
+    interface GroupCount {
+        String getName();
+        Long getClicks();
+
+        /** Clicks keyed by group name. */
+        static Map<String, Long> toMap(List<GroupCount> counts) {
+            return counts.stream().collect(Collectors.toMap(GroupCount::getName, GroupCount::getClicks));
+        }
+    }
+
+    interface IdCount {
+        Integer getId();
+        Long getClicks();
+    }
+
+    interface DayCount {
+        LocalDate getDay();
+        Long getClicks();
+    }
 
+    @Query(nativeQuery = true, value = """
+        select cast(clicked_at as date) as day, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+          and clicked_at >= :from and clicked_at < :to
+        group by cast(clicked_at as date)
+    """)
+    List<DayCount> countPerDay(String[] aliases, LocalDateTime from, LocalDateTime to);
+
+    @Query(nativeQuery = true, value = """
+        select alias as name, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        group by alias
+    """)
+    List<GroupCount> countPerAlias(String[] aliases);
+
+    @Query(nativeQuery = true, value = """
+        select alias as name, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[])) and clicked_at >= :from
+        group by alias
+    """)
+    List<GroupCount> countPerAliasSince(String[] aliases, LocalDateTime from);
+
+    @Query(nativeQuery = true, value = """
+        select coalesce(country, 'UN') as name, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        group by coalesce(country, 'UN')
+    """)
+    List<GroupCount> countPerCountry(String[] aliases);
+
+    @Query(nativeQuery = true, value = """
+        select coalesce(device, 'desktop') as name, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        group by coalesce(device, 'desktop')
+    """)
+    List<GroupCount> countPerDevice(String[] aliases);
+
+    @Query(nativeQuery = true, value = """
+        select coalesce(browser, 'Other') as name, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        group by coalesce(browser, 'Other')
+    """)
+    List<GroupCount> countPerBrowser(String[] aliases);
+
+    @Query(nativeQuery = true, value = """
+        select referrer_domain_id as id, count(*) as clicks
+        from analytics
+        where alias = any(cast(:aliases as varchar[]))
+        group by referrer_domain_id
+    """)
+    List<IdCount> countPerReferrerDomain(String[] aliases);
+}
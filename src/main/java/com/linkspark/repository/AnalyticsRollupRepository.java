@@ -0,0 +1,101 @@
+package com.linkspark.repository;
+
+import com.linkspark.model.enums.RollupDimension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly and daily click rollups (analytics_hourly / analytics_daily).
+ * Counters are only ever incremented, so replaying the same rows twice
+ * double counts; callers write them in the same transaction as the raw
+ * clicks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRollupRepository {
+
+    public record Key(String alias, LocalDateTime bucket, RollupDimension dimension, String value) {}
+
+    public record Row(LocalDateTime bucket, RollupDimension dimension, String value, long clicks) {}
+
+    /** Consistent lock order so concurrent upserts from several nodes cannot deadlock. */
+    private static final Comparator<Map.Entry<Key, Long>> KEY_ORDER = Comparator
+            .comparing((Map.Entry<Key, Long> e) -> e.getKey().alias())
+            .thenComparing(e -> e.getKey().bucket())
+            .thenComparing(e -> e.getKey().dimension())
+            .thenComparing(e -> e.getKey().value());
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, i) -> new Row(
+            rs.getTimestamp("bucket").toLocalDateTime(),
+            RollupDimension.valueOf(rs.getString("dimension")),
+            rs.getString("value"),
+            rs.getLong("clicks")
+    );
+
+    private final JdbcTemplate jdbc;
+
+    public void incrementHourly(Map<Key, Long> deltas) {
+        upsert("analytics_hourly", deltas, false);
+    }
+
+    public void incrementDaily(Map<Key, Long> deltas) {
+        upsert("analytics_daily", deltas, true);
+    }
+
+    public List<Row> findHourly(String alias, LocalDateTime from) {
+        return jdbc.query("""
+                select bucket, dimension, value, clicks
+                from analytics_hourly
+                where alias = ? and bucket >= ?
+                """, ROW_MAPPER, alias, Timestamp.valueOf(from));
+    }
+
+    public List<Row> findDaily(String alias, LocalDate from, LocalDate to) {
+        return jdbc.query("""
+                select cast(bucket as timestamp) as bucket, dimension, value, clicks
+                from analytics_daily
+                where alias = ? and bucket between ? and ?
+                """, ROW_MAPPER, alias, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public int deleteHourlyBefore(LocalDateTime cutoff) {
+        return jdbc.update("delete from analytics_hourly where bucket < ?", Timestamp.valueOf(cutoff));
+    }
+
+    private void upsert(String table, Map<Key, Long> deltas, boolean daily) {
+        if (deltas.isEmpty()) return;
+
+        List<Map.Entry<Key, Long>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(KEY_ORDER);
+
+        jdbc.batchUpdate(
+                "insert into " + table + " (alias, bucket, dimension, value, clicks) values (?, ?, ?, ?, ?) " +
+                        "on conflict (alias, bucket, dimension, value) " +
+                        "do update set clicks = " + table + ".clicks + excluded.clicks",
+                entries,
+                entries.size(),
+                (ps, e) -> {
+                    Key k = e.getKey();
+                    ps.setString(1, k.alias());
+                    if (daily) {
+                        ps.setDate(2, Date.valueOf(k.bucket().toLocalDate()));
+                    } else {
+                        ps.setTimestamp(2, Timestamp.valueOf(k.bucket()));
+                    }
+                    ps.setString(3, k.dimension().name());
+                    ps.setString(4, k.value());
+                    ps.setLong(5, e.getValue());
+                });
+    }
+}
@@ -0,0 +1,249 @@
+package com.linkspark.repository;
+
+import com.linkspark.model.Link;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC statements against the links table that must not go through
+ * a load-modify-save cycle on the entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LinkJdbcRepository {
+
+    /** Index of the current day in link_week_clicks. */
+    private static final int CURRENT_DAY_INDEX = 6;
+
+    private final JdbcTemplate jdbc;
+
+    /** The columns a password attempt needs. */
+    public record Credentials(
+            Long id,
+            String passwordHash,
+            LocalDateTime expiresAt,
+            LocalDateTime lockedUntil
+    ) {}
+
+    @Transactional
+    public void addClicks(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+
+        jdbc.batchUpdate(
+                "update links set clicks = clicks + ? where id = ?",
+                entries,
+                entries.size(),
+                (ps, e) -> {
+                    ps.setLong(1, e.getValue());
+                    ps.setLong(2, e.getKey());
+                });
+
+        jdbc.batchUpdate(
+                "update link_week_clicks set click = click + ? where link_id = ? and day_index = ?",
+                entries,
+                entries.size(),
+                (ps, e) -> {
+                    ps.setLong(1, e.getValue());
+                    ps.setLong(2, e.getKey());
+                    ps.setInt(3, CURRENT_DAY_INDEX);
+                });
+    }
+
+    /**
+     * Reads a link's password state without going through the entity
+     * manager, so with open-in-view the connection is released straight
+     * away instead of being held for the rest of the request.
+     */
+    public Optional<Credentials> findCredentials(String alias) {
+        return jdbc.query(
+                "select id, password_hash, expires_at, locked_until from links where alias = ?",
+                rs -> rs.next()
+                        ? Optional.of(new Credentials(
+                                rs.getLong("id"),
+                                rs.getString("password_hash"),
+                                toLocalDateTime(rs.getTimestamp("expires_at")),
+                                toLocalDateTime(rs.getTimestamp("locked_until"))))
+                        : Optional.empty(),
+                alias);
+    }
+
+    /**
+     * Counts a wrong password and locks the link until {@code lockUntil}
+     * once {@code maxAttempts} is reached, in one statement, so concurrent
+     * guesses cannot lose increments. A lock that is already running is
+     * left alone. Returns the lock after the update, or null if the link
+     * is not locked (or no longer exists).
+     */
+    public LocalDateTime recordFailedAttempt(Long id, int maxAttempts, LocalDateTime now, LocalDateTime lockUntil) {
+        return jdbc.query("""
+                        update links
+                        set failed_attempts = failed_attempts + 1,
+                            locked_until = case
+                                when locked_until > ? then locked_until
+                                when failed_attempts + 1 >= ? then ?
+                                else locked_until
+                            end
+                        where id = ?
+                        returning locked_until
+                        """,
+                rs -> rs.next() ? toLocalDateTime(rs.getTimestamp(1)) : null,
+                Timestamp.valueOf(now), maxAttempts, Timestamp.valueOf(lockUntil), id);
+    }
+
+    /**
+     * Resets the failure count after a correct password, unless concurrent
+     * wrong guesses locked the link while the hash was being checked.
+     * Returns that lock, or null if the attempt may proceed.
+     */
+    public LocalDateTime clearFailedAttempts(Long id, LocalDateTime now) {
+        return jdbc.query("""
+                        update links
+                        set failed_attempts = case when locked_until > ? then failed_attempts else 0 end,
+                            locked_until = case when locked_until > ? then locked_until end
+                        where id = ?
+                        returning locked_until
+                        """,
+                rs -> rs.next() ? toLocalDateTime(rs.getTimestamp(1)) : null,
+                Timestamp.valueOf(now), Timestamp.valueOf(now), id);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+
+    /** First code of the next block leased from link_alias_seq. */
+    public long nextAliasBlock() {
+        return jdbc.queryForObject("select nextval('link_alias_seq')", Long.class);
+    }
+
+    /** Codes per leased block, owned by the sequence so every node agrees. */
+    public long aliasBlockSize() {
+        return jdbc.queryForObject(
+                "select increment_by from pg_sequences " +
+                        "where schemaname = current_schema() and sequencename = 'link_alias_seq'",
+                Long.class);
+    }
+
+    public long countAliases() {
+        return jdbc.queryForObject("select count(*) from links", Long.class);
+    }
+
+    /** Streams every alias in the links table without materialising the list. */
+    @Transactional(readOnly = true)
+    public void forEachAlias(Consumer<String> action) {
+        jdbc.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement("select alias from links");
+                    ps.setFetchSize(10_000);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> action.accept(rs.getString(1)));
+    }
+
+    /**
+     * Inserts new links in one statement, skipping any whose alias is
+     * already taken. Returns alias to id for the rows actually inserted.
+     */
+    @Transactional
+    public Map<String, Long> insertIgnoringTakenAliases(List<Link> links, UUID ownerId, LocalDateTime createdAt) {
+        int n = links.size();
+        String[] titles = new String[n], urls = new String[n], aliases = new String[n],
+                tags = new String[n], hashes = new String[n];
+        Timestamp[] expires = new Timestamp[n];
+        Boolean[] protect = new Boolean[n], analytics = new Boolean[n];
+        Integer[] redirectTypes = new Integer[n];
+        UUID[] teams = new UUID[n];
+
+        for (int i = 0; i < n; i++) {
+            Link l = links.get(i);
+            titles[i] = l.getTitle();
+            urls[i] = l.getOriginalUrl();
+            aliases[i] = l.getAlias();
+            tags[i] = l.getTags();
+            expires[i] = l.getExpiresAt() == null ? null : Timestamp.valueOf(l.getExpiresAt());
+            protect[i] = l.isPasswordProtect();
+            hashes[i] = l.getPasswordHash();
+            analytics[i] = l.isEnableAnalytics();
+            redirectTypes[i] = l.getRedirectType();
+            teams[i] = l.getTeam() == null ? null : l.getTeam().getId();
+        }
+
+        Map<String, Long> inserted = new HashMap<>(n * 2);
+        jdbc.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement("""
+                            insert into links (owner_id, created_at, clicks, failed_attempts,
+                                               title, original_url, alias, tags, expires_at, password_protect,
+                                               password_hash, enable_analytics, redirect_type, team_id)
+                            select ?, ?, 0, 0, t.*
+                            from unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::timestamp[],
+                                        ?::boolean[], ?::varchar[], ?::boolean[], ?::int[], ?::uuid[]) as t
+                            on conflict (alias) do nothing
+                            returning id, alias
+                            """);
+                    ps.setObject(1, ownerId);
+                    ps.setTimestamp(2, Timestamp.valueOf(createdAt));
+                    ps.setArray(3, con.createArrayOf("varchar", titles));
+                    ps.setArray(4, con.createArrayOf("varchar", urls));
+                    ps.setArray(5, con.createArrayOf("varchar", aliases));
+                    ps.setArray(6, con.createArrayOf("varchar", tags));
+                    ps.setArray(7, con.createArrayOf("timestamp", expires));
+                    ps.setArray(8, con.createArrayOf("boolean", protect));
+                    ps.setArray(9, con.createArrayOf("varchar", hashes));
+                    ps.setArray(10, con.createArrayOf("boolean", analytics));
+                    ps.setArray(11, con.createArrayOf("int4", redirectTypes));
+                    ps.setArray(12, con.createArrayOf("uuid", teams));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> inserted.put(rs.getString("alias"), rs.getLong("id")));
+
+        if (!inserted.isEmpty()) {
+            Long[] ids = inserted.values().toArray(Long[]::new);
+            jdbc.update(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement("""
+                                insert into link_week_clicks (link_id, day_index, click)
+                                select l.id, d, 0
+                                from unnest(?::bigint[]) as l(id)
+                                cross join generate_series(0, 6) as d
+                                """);
+                        ps.setArray(1, con.createArrayOf("bigint", ids));
+                        return ps;
+                    });
+        }
+
+        return inserted;
+    }
+
+    @Transactional
+    public int deleteByIds(Collection<Long> ids) {
+        Long[] array = ids.toArray(Long[]::new);
+
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("delete from link_week_clicks where link_id = any(?)");
+            ps.setArray(1, con.createArrayOf("bigint", array));
+            return ps;
+        });
+
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("delete from links where id = any(?)");
+            ps.setArray(1, con.createArrayOf("bigint", array));
+            return ps;
+        });
+    }
+}
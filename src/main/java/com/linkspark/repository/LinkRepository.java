@@ -1,15 +1,18 @@
 package com.linkspark.repository;
 
 import com.linkspark.domain.User;
+import com.linkspark.dto.LinkSummary;
 import com.linkspark.model.Link;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface LinkRepository extends JpaRepository<Link, Long> {
+public interface LinkRepository extends JpaRepository<Link, Long>, JpaSpecificationExecutor<Link> {
     boolean existsByAlias(String alias);
     Optional<Link> findByAlias(String alias);
     List<Link> findByOwner(User owner);
@@ -18,15 +21,64 @@ public interface LinkRepository extends JpaRepository<Link, Long> {
 
     @Query("""
    select l from Link l
-   where l.owner.id = :userId
-      or l.team.id in (
-         select tm.team.id from TeamMember tm
-         where tm.user.id = :userId
-           and tm.pending = false
-      )
+   left join fetch l.team t
+   where l.id in (
+      select o.id from Link o
+      where o.owner.id = :userId
+      union
+      select s.id from Link s
+      join TeamMember tm on tm.team.id = s.team.id
+      where tm.user.id = :userId
+        and tm.pending = false
+   )
 """)
     List<Link> findAllAccessibleLinks(UUID userId);
 
+    @Query("""
+   select new com.linkspark.dto.LinkSummary(
+      l.id, l.alias, l.title, l.originalUrl, l.clicks,
+      l.expiresAt, l.passwordProtect, t.id, t.name
+   )
+   from Link l
+   left join l.team t
+   where l.id in (
+      select o.id from Link o
+      where o.owner.id = :userId
+      union
+      select s.id from Link s
+      join TeamMember tm on tm.team.id = s.team.id
+      where tm.user.id = :userId
+        and tm.pending = false
+   )
+""")
+    List<LinkSummary> findAccessibleLinkSummaries(UUID userId);
 
-}
+    @Query("""
+   select new com.linkspark.dto.LinkSummary(
+      l.id, l.alias, l.title, l.originalUrl, l.clicks,
+      l.expiresAt, l.passwordProtect, t.id, t.name
+   )
+   from Link l
+   left join l.team t
+   where l.owner.id = :ownerId
+""")
+    List<LinkSummary> findLinkSummariesByOwner(UUID ownerId);
 
+    interface LinkRef {
+        Long getId();
+        String getAlias();
+        UUID getOwnerId();
+        UUID getTeamId();
+    }
+
+    @Query("""
+   select l.id as id, l.alias as alias, l.owner.id as ownerId, t.id as teamId
+   from Link l
+   left join l.team t
+   where l.id in :ids
+""")
+    List<LinkRef> findRefsByIdIn(Collection<Long> ids);
+
+    @Query("select l.alias from Link l where l.alias in :aliases")
+    List<String> findExistingAliases(Collection<String> aliases);
+}
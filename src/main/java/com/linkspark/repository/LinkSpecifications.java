@@ -0,0 +1,104 @@
+package com.linkspark.repository;
+
+import com.linkspark.model.Link;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Building blocks for the filtered, keyset-paginated link listing.
+ */
+public final class LinkSpecifications {
+
+    private LinkSpecifications() {}
+
+    /**
+     * Links owned by the user or shared through one of {@code teamIds}, the
+     * teams they have joined. The teams are passed in rather than selected
+     * here: with {@code team_id in (subquery)} inside the OR, Postgres can
+     * only check the subquery row by row over a full scan, while a plain list
+     * lets it combine the owner and team indexes.
+     */
+    public static Specification<Link> accessibleBy(UUID userId, Collection<UUID> teamIds) {
+        return (root, query, cb) -> {
+            if (Long.class != query.getResultType()) {
+                root.fetch("team", JoinType.LEFT);
+            }
+
+            Predicate owned = cb.equal(root.get("owner").get("id"), userId);
+            return teamIds.isEmpty()
+                    ? owned
+                    : cb.or(owned, root.get("team").get("id").in(teamIds));
+        };
+    }
+
+    public static Specification<Link> inTeam(UUID teamId) {
+        return (root, query, cb) -> cb.equal(root.get("team").get("id"), teamId);
+    }
+
+    /**
+     * Tags are stored as one comma-separated string. The match is on whole
+     * entries, so "java" does not match "javascript": both sides are wrapped
+     * in commas, and spaces are dropped so "a, b" and "a,b" read the same.
+     */
+    public static Specification<Link> hasTag(String tag) {
+        return (root, query, cb) -> {
+            Expression<String> tags = cb.function("replace", String.class,
+                    cb.lower(root.get("tags")), cb.literal(" "), cb.literal(""));
+            String entry = tag.toLowerCase(Locale.ROOT).replace(" ", "");
+            return cb.like(
+                    cb.concat(cb.concat(",", tags), ","),
+                    "%," + escapeLike(entry) + ",%",
+                    '\\'
+            );
+        };
+    }
+
+    public static Specification<Link> expired(boolean expired) {
+        return (root, query, cb) -> {
+            LocalDateTime now = LocalDateTime.now();
+            return expired
+                    ? cb.lessThan(root.get("expiresAt"), now)
+                    : cb.or(cb.isNull(root.get("expiresAt")), cb.greaterThanOrEqualTo(root.get("expiresAt"), now));
+        };
+    }
+
+    public static Specification<Link> passwordProtected(boolean passwordProtected) {
+        return (root, query, cb) -> cb.equal(root.get("passwordProtect"), passwordProtected);
+    }
+
+    /**
+     * Title or alias starts with the given text, case-insensitively. Served
+     * by the {@code lower(...) text_pattern_ops} indexes from V9.
+     */
+    public static Specification<Link> titleOrAliasStartsWith(String prefix) {
+        return (root, query, cb) -> {
+            String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("alias")), pattern, '\\')
+            );
+        };
+    }
+
+    /** Rows strictly after ({@code value}, {@code id}) in descending (field, id) order. */
+    public static <T extends Comparable<? super T>> Specification<Link> after(String field, T value, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get(field), value),
+                cb.and(
+                        cb.equal(root.get(field), value),
+                        cb.lessThan(root.get("id"), id)
+                )
+        );
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,71 @@
+package com.linkspark.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The referrer_domains dictionary. Entries are never updated or removed,
+ * so an id, once returned, maps to the same domain forever.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferrerDomainRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Ids for the given domains, inserting any not seen before. Runs in its
+     * own transaction so callers never cache an id that is later rolled
+     * back.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Integer> upsert(Collection<? extends String> domains) {
+        String[] array = domains.stream().sorted().toArray(String[]::new);
+
+        // sorted so concurrent inserts from several nodes lock in the same order
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    insert into referrer_domains (domain)
+                    select unnest(?::varchar[])
+                    on conflict (domain) do nothing
+                    """);
+            ps.setArray(1, con.createArrayOf("varchar", array));
+            return ps;
+        });
+
+        Map<String, Integer> ids = new HashMap<>(array.length * 2);
+        jdbc.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "select id, domain from referrer_domains where domain = any(?)");
+                    ps.setArray(1, con.createArrayOf("varchar", array));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> ids.put(rs.getString("domain"), rs.getInt("id")));
+        return ids;
+    }
+
+    public Map<Integer, String> findDomains(Collection<? extends Integer> ids) {
+        Integer[] array = ids.toArray(Integer[]::new);
+
+        Map<Integer, String> domains = new HashMap<>(array.length * 2);
+        jdbc.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "select id, domain from referrer_domains where id = any(?)");
+                    ps.setArray(1, con.createArrayOf("int4", array));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> domains.put(rs.getInt("id"), rs.getString("domain")));
+        return domains;
+    }
+}
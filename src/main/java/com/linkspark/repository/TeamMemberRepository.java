@@ -4,6 +4,7 @@ import com.linkspark.domain.Team;
 import com.linkspark.domain.TeamMember;
 import com.linkspark.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,4 +19,8 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, UUID> {
     Optional<TeamMember> findByTeamAndUser(Team team, User user);
 
     Optional<TeamMember> findByTeamAndEmail(Team team, String email);
+
+    /** Teams the user has joined (accepted invites only). */
+    @Query("select tm.team.id from TeamMember tm where tm.user.id = :userId and tm.pending = false")
+    List<UUID> findJoinedTeamIds(UUID userId);
 }
@@ -3,26 +3,44 @@ package com.linkspark.security;
 import com.linkspark.domain.User;
 import com.linkspark.service.JwtService;
 import com.linkspark.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Optional;
 
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
 
-    public JwtAuthFilter(JwtService jwtService, UserService userService) {
+    public JwtAuthFilter(JwtService jwtService, UserService userService, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.meterRegistry = meterRegistry;
+        this.authenticatedTimer = authTimer("authenticated");
+        this.rejectedTimer = authTimer("rejected");
+    }
+
+    private Timer authTimer(String outcome) {
+        return Timer.builder("linkspark.auth.jwt")
+                .description("Resolving the principal for a bearer token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -47,26 +65,37 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean authenticated = false;
         try {
-            String email = jwtService.extractUsername(token);
+            JwtToken token = jwtService.parse(authHeader.substring(7));
+            String email = token.subject();
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                Optional<User> userOpt = userService.findByEmail(email);
+            if (email != null && token.isType("access")
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // tokens issued before the uid claim existed fall back to an email lookup
+                Optional<User> userOpt = token.userId() != null
+                        ? userService.findPrincipal(token.userId())
+                        : userService.findByEmail(email);
 
                 if (userOpt.isPresent() && jwtService.isValid(token, userOpt.get(), "access")) {
                     User user = userOpt.get();
+                    Collection<? extends GrantedAuthority> authorities = token.roles().isEmpty()
+                            ? user.getAuthorities()
+                            : token.roles().stream().map(SimpleGrantedAuthority::new).toList();
+
                     UsernamePasswordAuthenticationToken auth =
                             new UsernamePasswordAuthenticationToken(
                                     user,
                                     null,
-                                    user.getAuthorities()
+                                    authorities
                             );
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    authenticated = true;
                 }
             }
         } catch (Exception ignored) {}
+        sample.stop(authenticated ? authenticatedTimer : rejectedTimer);
 
         filterChain.doFilter(request, response);
     }
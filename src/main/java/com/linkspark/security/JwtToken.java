@@ -0,0 +1,25 @@
+package com.linkspark.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of a JWT whose signature has already been verified by
+ * {@code JwtService.parse}.
+ */
+public record JwtToken(
+        String subject,
+        String type,
+        Date expiresAt,
+        UUID userId,
+        List<String> roles
+) {
+    public boolean isType(String expectedType) {
+        return expectedType.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiresAt.before(new Date());
+    }
+}
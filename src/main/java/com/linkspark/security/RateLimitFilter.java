@@ -0,0 +1,153 @@
+package com.linkspark.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkspark.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles the public endpoints per client IP and per alias before any
+ * authentication or database work, answering 429 with Retry-After.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its theoretical
+ * arrival time (GCRA): a request pushes it one interval further, and is
+ * refused if that would run more than {@code capacity} intervals ahead of
+ * now. That is a token bucket updated with one CAS and no lock. Buckets
+ * live in bounded caches and expire once idle long enough to have
+ * refilled, so evicting them loses nothing.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ALIAS_VARIABLE = "alias";
+
+    private final List<Route> routes = new ArrayList<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry registry) {
+        PathPatternParser parser = new PathPatternParser();
+
+        for (Map.Entry<String, RateLimitProperties.Route> e : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route config = e.getValue();
+            routes.add(new Route(
+                    parser.parse(config.getPattern()),
+                    config.getMethod(),
+                    Limit.of(config.getIpCapacity(), config.getIpPerSecond(), properties.getMaxTrackedKeys()),
+                    Limit.of(config.getAliasCapacity(), config.getAliasPerSecond(), properties.getMaxTrackedKeys()),
+                    rejections(registry, e.getKey(), "ip"),
+                    rejections(registry, e.getKey(), "alias")));
+        }
+    }
+
+    private static Counter rejections(MeterRegistry registry, String route, String key) {
+        return Counter.builder("linkspark.ratelimit.rejected")
+                .description("Requests refused by the rate limiter")
+                .tag("route", route)
+                .tag("key", key)
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        PathContainer path = null;
+
+        for (Route route : routes) {
+            if (route.method != null && !route.method.equalsIgnoreCase(request.getMethod())) continue;
+
+            if (path == null) path = PathContainer.parsePath(request.getServletPath());
+            PathPattern.PathMatchInfo match = route.pattern.matchAndExtract(path);
+            if (match == null) continue;
+
+            long now = System.nanoTime();
+            long wait = route.perIp == null ? 0 : route.perIp.tryAcquire(request.getRemoteAddr(), now);
+            if (wait > 0) {
+                route.ipRejections.increment();
+                reject(response, wait);
+                return;
+            }
+
+            String alias = match.getUriVariables().get(ALIAS_VARIABLE);
+            wait = route.perAlias == null || alias == null ? 0 : route.perAlias.tryAcquire(alias, now);
+            if (wait > 0) {
+                route.aliasRejections.increment();
+                reject(response, wait);
+                return;
+            }
+            break;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    private record Route(
+            PathPattern pattern,
+            String method,
+            Limit perIp,
+            Limit perAlias,
+            Counter ipRejections,
+            Counter aliasRejections
+    ) {}
+
+    private static final class Limit {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+
+        private Limit(int capacity, double perSecond, long maxKeys) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstNanos = intervalNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos))
+                    .build();
+        }
+
+        static Limit of(int capacity, double perSecond, long maxKeys) {
+            return capacity > 0 && perSecond > 0 ? new Limit(capacity, perSecond, maxKeys) : null;
+        }
+
+        /** Takes a token for {@code key}; returns 0, or the nanos until one is available. */
+        long tryAcquire(String key, long now) {
+            AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) return wait;
+                if (tat.compareAndSet(current, next)) return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.linkspark.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkspark.config.JwtProperties;
+import com.linkspark.domain.User;
+import com.linkspark.model.enums.AuthProvider;
+import com.linkspark.service.SingleFlightCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated {@link User} principals by id, so
+ * requests carrying a token with a {@code uid} claim skip the users table.
+ * Anything that changes a user's profile, password or provider must call
+ * {@link #invalidate(UUID)}.
+ *
+ * <p>Only an immutable snapshot is cached; every caller gets its own detached
+ * {@code User} built from it, so nothing a request does to its principal can
+ * leak into another request.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final SingleFlightCache<UUID, Snapshot> cache;
+
+    public UserPrincipalCache(JwtProperties properties) {
+        this.cache = new SingleFlightCache<>(Caffeine.newBuilder()
+                .maximumSize(properties.getPrincipalCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getPrincipalCacheTtlSeconds()))
+                .recordStats());
+    }
+
+    /** Returns the cached principal, loading it on a miss; null if the loader finds nothing. */
+    public User get(UUID id, Function<UUID, User> loader) {
+        Snapshot snapshot = cache.get(id, key -> {
+            User user = loader.apply(key);
+            return user == null ? null : Snapshot.of(user);
+        });
+        return snapshot == null ? null : snapshot.toUser();
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cache.bindTo(registry, "user_principal");
+    }
+
+    private record Snapshot(
+            UUID id,
+            String name,
+            String email,
+            String passwordHash,
+            AuthProvider provider,
+            String providerId,
+            Instant createdAt,
+            String company
+    ) {
+        static Snapshot of(User user) {
+            return new Snapshot(
+                    user.getId(),
+                    user.getName(),
+                    user.getEmail(),
+                    user.getPasswordHash(),
+                    user.getProvider(),
+                    user.getProviderId(),
+                    user.getCreatedAt(),
+                    user.getCompany()
+            );
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setName(name);
+            user.setEmail(email);
+            user.setPasswordHash(passwordHash);
+            user.setProvider(provider);
+            user.setProviderId(providerId);
+            user.setCreatedAt(createdAt);
+            user.setCompany(company);
+            return user;
+        }
+    }
+}
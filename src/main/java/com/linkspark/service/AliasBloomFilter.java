@@ -0,0 +1,139 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AliasProperties;
+import com.linkspark.repository.LinkJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter over every alias in the links table, loaded once
+ * at startup and fed by each link created on this node. It is sized at load
+ * for the aliases actually there, with room to grow;
+ * {@code app.alias.bloom-expected-aliases} is only the minimum.
+ *
+ * A negative answer only reflects this node's view: links created on other
+ * nodes since startup are missing. Creation may use it to skip the
+ * existsByAlias round trip because the insert is the final word on
+ * conflicts; it must never be taken as proof an alias is free. Until the
+ * filter is loaded, or when it is disabled, {@link #isReady()} is false and
+ * callers fall back to the query.
+ */
+@Slf4j
+@Component
+public class AliasBloomFilter {
+
+    /** Capacity is this many times the aliases found at load, so growth keeps the error rate down. */
+    private static final int HEADROOM = 2;
+
+    private final LinkJdbcRepository linkJdbc;
+    private final boolean enabled;
+    private final long minExpected;
+    private final double falsePositiveRate;
+
+    /** Null until loaded; sized once the number of aliases is known. */
+    private volatile Table table;
+    private volatile boolean ready;
+
+    private record Table(AtomicLongArray bits, long bitCount, int hashCount) {
+
+        static Table sizedFor(long n, double p) {
+            long m = Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+            if (m > (long) Integer.MAX_VALUE * 64) {
+                throw new IllegalStateException("Alias Bloom filter would need " + m + " bits");
+            }
+            int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+            return new Table(new AtomicLongArray((int) ((m + 63) / 64)), m, k);
+        }
+    }
+
+    public AliasBloomFilter(LinkJdbcRepository linkJdbc, AliasProperties properties) {
+        this.linkJdbc = linkJdbc;
+        this.enabled = properties.isBloomEnabled();
+        this.minExpected = Math.max(1, properties.getBloomExpectedAliases());
+        this.falsePositiveRate = properties.getBloomFalsePositiveRate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        long[] count = {0};
+        try {
+            Table sized = Table.sizedFor(
+                    Math.max(minExpected, linkJdbc.countAliases() * HEADROOM), falsePositiveRate);
+            // published before the scan so links created meanwhile are not lost
+            table = sized;
+            linkJdbc.forEachAlias(alias -> {
+                put(alias);
+                count[0]++;
+            });
+            ready = true;
+            log.info("Alias Bloom filter loaded {} aliases in {} ms ({} bits, {} hashes)",
+                    count[0], (System.nanoTime() - start) / 1_000_000, sized.bitCount(), sized.hashCount());
+        } catch (RuntimeException e) {
+            log.warn("Alias Bloom filter not loaded, alias checks go to the database", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean mightContain(String alias) {
+        Table t = table;
+        if (t == null) return true;
+
+        long h1 = hash(alias);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < t.hashCount(); i++) {
+            long bit = Math.floorMod(h1 + i * h2, t.bitCount());
+            if ((t.bits().get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String alias) {
+        Table t = table;
+        if (t == null) return;
+
+        long h1 = hash(alias);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < t.hashCount(); i++) {
+            long bit = Math.floorMod(h1 + i * h2, t.bitCount());
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            while (((current = t.bits().get(word)) & mask) == 0
+                    && !t.bits().compareAndSet(word, current, current | mask)) {
+                // retry until our bit is set
+            }
+        }
+    }
+
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,22 @@
+package com.linkspark.service;
+
+/**
+ * Produces short codes for links created without a custom alias.
+ * The active implementation is picked with {@code app.alias.generator}.
+ */
+public interface AliasGenerator {
+
+    String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    String next();
+
+    /** Base62 digits of {@code value}, left-padded with '0' to {@code length}. */
+    static String encode(long value, int length) {
+        char[] out = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            out[i] = ALPHABET.charAt((int) (value % 62));
+            value /= 62;
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,175 @@
+package com.linkspark.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkspark.repository.AnalyticsExportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+
+/**
+ * Streams raw clicks as CSV or NDJSON. Rows go from the JDBC cursor
+ * straight to the response, one at a time, so memory stays flat however
+ * many clicks the range holds.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsExportService {
+
+    private static final String[] COLUMNS =
+            {"clicked_at", "alias", "country", "device", "browser", "os", "bot", "referer", "user_agent"};
+    private static final int BOT_COLUMN = 7;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final AnalyticsExportRepository exportRepo;
+    private final ObjectMapper mapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be csv or ndjson");
+            }
+        }
+    }
+
+    /** Start (inclusive) and end (exclusive) of an export range. */
+    public record Range(LocalDateTime from, LocalDateTime to) {}
+
+    /** Same range vocabulary as the analytics endpoints; start/end are inclusive dates. */
+    public Range resolveRange(String range, String start, String end) {
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            if (start != null && end != null) {
+                return new Range(LocalDate.parse(start).atStartOfDay(), LocalDate.parse(end).plusDays(1).atStartOfDay());
+            }
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid start or end date");
+        }
+
+        return switch (range) {
+            case "24h" -> new Range(now.minusHours(24), now);
+            case "7d" -> new Range(now.minusDays(7), now);
+            case "90d" -> new Range(now.minusDays(90), now);
+            default -> new Range(now.minusDays(30), now);
+        };
+    }
+
+    public StreamingResponseBody export(Collection<String> aliases, Range range, Format format) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+            if (format == Format.CSV) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write('\n');
+            }
+
+            if (!aliases.isEmpty()) {
+                JsonGenerator json = null;
+                if (format == Format.NDJSON) {
+                    json = mapper.getFactory().createGenerator(writer);
+                    json.setRootValueSeparator(null);
+                }
+                JsonGenerator ndjson = json;
+
+                try {
+                    exportRepo.forEachClick(aliases, range.from(), range.to(), rs -> {
+                        try {
+                            if (ndjson != null) {
+                                writeJson(rs, ndjson);
+                            } else {
+                                writeCsv(rs, writer);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                if (json != null) {
+                    json.flush();
+                }
+            }
+
+            writer.flush();
+        };
+    }
+
+    private static void writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+        writer.write(rs.getTimestamp(1).toLocalDateTime().toString());
+        for (int i = 2; i <= COLUMNS.length; i++) {
+            writer.write(',');
+            if (i == BOT_COLUMN) writer.write(Boolean.toString(rs.getBoolean(i)));
+            else writeCsvField(rs.getString(i), writer);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes one cell, quoted when needed. Referrers and user agents are
+     * chosen by whoever clicks, so a value a spreadsheet would run as a
+     * formula (leading =, +, -, @, tab or CR) gets a leading ' and is
+     * shown as text instead.
+     */
+    private static void writeCsvField(String raw, Writer writer) throws IOException {
+        if (raw == null) return;
+
+        String value = !raw.isEmpty() && FORMULA_PREFIXES.indexOf(raw.charAt(0)) >= 0 ? "'" + raw : raw;
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJson(ResultSet rs, JsonGenerator json) throws SQLException, IOException {
+        json.writeStartObject();
+        json.writeStringField(COLUMNS[0], rs.getTimestamp(1).toLocalDateTime().toString());
+        for (int i = 2; i <= COLUMNS.length; i++) {
+            if (i == BOT_COLUMN) json.writeBooleanField(COLUMNS[i - 1], rs.getBoolean(i));
+            else json.writeStringField(COLUMNS[i - 1], rs.getString(i));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
@@ -0,0 +1,119 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AnalyticsPartitionProperties;
+import com.linkspark.config.AnalyticsPartitionProperties.RetentionAction;
+import com.linkspark.repository.AnalyticsPartitionRepository;
+import com.linkspark.repository.AnalyticsPartitionRepository.Created;
+import com.linkspark.repository.AnalyticsPartitionRepository.Partition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Keeps the analytics table's range partitions ahead of the clock and
+ * applies retention by dropping (or detaching) whole partitions, which
+ * costs the same however many rows they hold. The default partition is
+ * never dropped, so its expired rows are deleted (or moved out) by date.
+ *
+ * New partitions continue from the end of the newest one, so changing the
+ * interval only affects partitions created from then on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalyticsPartitionManager {
+
+    private final AnalyticsPartitionRepository partitionRepo;
+    private final AnalyticsPartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "0 15 0 * * *")
+    public void maintain() {
+        try {
+            createUpcoming();
+            applyRetention();
+        } catch (RuntimeException e) {
+            log.warn("Analytics partition maintenance failed", e);
+        }
+    }
+
+    private void createUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Partition> partitions = partitionRepo.findPartitions();
+
+        LocalDateTime from = partitions.isEmpty()
+                ? floor(now)
+                : partitions.get(partitions.size() - 1).to();
+
+        // the partition holding "now" plus `premake` after it
+        LocalDateTime until = floor(now);
+        for (int i = 0; i <= properties.getPremake(); i++) {
+            until = next(until);
+        }
+
+        while (from.isBefore(until)) {
+            LocalDateTime to = next(floor(from));
+            Created created = partitionRepo.create(from, to);
+            if (created.movedRows() > 0) {
+                log.info("Created analytics partition {} [{}, {}), moving {} rows out of the default partition",
+                        created.name(), from, to, created.movedRows());
+            } else {
+                log.info("Created analytics partition {} [{}, {})", created.name(), from, to);
+            }
+            from = to;
+        }
+    }
+
+    private void applyRetention() {
+        if (properties.getRetentionDays() <= 0) return;
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getRetentionDays());
+
+        for (Partition p : partitionRepo.findPartitions()) {
+            if (p.to().isAfter(cutoff)) break;
+
+            if (properties.getRetentionAction() == RetentionAction.DETACH) {
+                partitionRepo.detach(p.name());
+                log.info("Detached expired analytics partition {} [{}, {})", p.name(), p.from(), p.to());
+            } else {
+                partitionRepo.drop(p.name());
+                log.info("Dropped expired analytics partition {} [{}, {})", p.name(), p.from(), p.to());
+            }
+        }
+
+        int expired = partitionRepo.expireDefault(cutoff, properties.getRetentionAction() == RetentionAction.DETACH);
+        if (expired > 0) {
+            log.info("Removed {} expired rows from the default analytics partition", expired);
+        }
+    }
+
+    private LocalDateTime floor(LocalDateTime t) {
+        LocalDateTime day = t.truncatedTo(ChronoUnit.DAYS);
+        return switch (properties.getInterval()) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDateTime next(LocalDateTime start) {
+        return switch (properties.getInterval()) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -2,7 +2,10 @@ package com.linkspark.service;
 
 import com.linkspark.dto.AnalyticsResponse;
 import com.linkspark.model.Analytics;
+import com.linkspark.model.enums.RollupDimension;
 import com.linkspark.repository.AnalyticsRepository;
+import com.linkspark.repository.AnalyticsRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,14 +13,20 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
     private final AnalyticsRepository repo;
+    private final AnalyticsRollupRepository rollupRepo;
+    private final ClickIngestor ingestor;
+    private final UserAgentParser userAgentParser;
+    private final GeoIpResolver geoIp;
+    private final ClickStreamService clickStream;
+    private final MeterRegistry meterRegistry;
 
     public void recordHit(String alias, HttpServletRequest request) {
 
@@ -31,23 +40,19 @@ public class AnalyticsService {
         if (country == null || country.isBlank()) {
             country = request.getHeader("X-Country");
         }
+        if (country == null || country.isBlank()) {
+            country = geoIp.resolve(a.getIp());
+        }
         a.setCountry(country != null ? country : "UN");
 
-        String ua = a.getUserAgent() != null ? a.getUserAgent().toLowerCase() : "";
-        String device = "desktop";
-        if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone")) device = "mobile";
-        if (ua.contains("tablet") || ua.contains("ipad")) device = "tablet";
-        a.setDevice(device);
-
-        String browser = "Other";
-        if (ua.contains("chrome") && !ua.contains("chromium") && !ua.contains("edg")) browser = "Chrome";
-        else if (ua.contains("firefox")) browser = "Firefox";
-        else if (ua.contains("safari") && !ua.contains("chrome")) browser = "Safari";
-        else if (ua.contains("edg")) browser = "Edge";
-        else if (ua.contains("opr") || ua.contains("opera")) browser = "Opera";
-        a.setBrowser(browser);
-
-        repo.save(a);
+        UserAgentParser.UserAgentInfo ua = userAgentParser.parse(a.getUserAgent());
+        a.setDevice(ua.device());
+        a.setBrowser(ua.browser());
+        a.setOs(ua.os());
+        a.setBot(ua.bot());
+
+        ingestor.submit(a);
+        clickStream.publish(a);
     }
 
     public AnalyticsResponse getMetricsForAlias(String alias) {
@@ -55,34 +60,45 @@ public class AnalyticsService {
     }
 
     public AnalyticsResponse getMetricsForAlias(String alias, String range, String start, String end) {
+        String rangeTag = switch (range) {
+            case "24h", "7d", "30d" -> range;
+            default -> "custom";
+        };
+        return meterRegistry.timer("linkspark.analytics.aggregate", "scope", "link", "range", rangeTag)
+                .record(() -> aggregate(alias, range, start, end));
+    }
 
-        List<Analytics> rows = repo.findByAliasOrderByClickedAtDesc(alias);
+    private AnalyticsResponse aggregate(String alias, String range, String start, String end) {
 
         AnalyticsResponse resp = new AnalyticsResponse();
         resp.metrics = new AnalyticsResponse.Metrics();
 
+        List<AnalyticsRollupRepository.Row> rows;
+
         if (range.equals("24h")) {
-            resp.metrics.timeseries = buildHourlySeries(rows);
-        } else if (range.equals("7d")) {
-            resp.metrics.timeseries = buildDailySeries(rows, 7);
-        } else if (range.equals("30d")) {
-            resp.metrics.timeseries = buildDailySeries(rows, 30);
-        } else if (start != null && end != null) {
-            resp.metrics.timeseries = buildCustomDailySeries(rows,
-                    LocalDate.parse(start),
-                    LocalDate.parse(end)
-            );
+            LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(23);
+            rows = rollupRepo.findHourly(alias, from);
+            resp.metrics.timeseries = buildHourlySeries(rows, from);
         } else {
-            resp.metrics.timeseries = buildDailySeries(rows, 30);
-        }
+            LocalDate to = LocalDate.now();
+            LocalDate from;
+
+            if (range.equals("7d")) {
+                from = to.minusDays(6);
+            } else if (range.equals("30d")) {
+                from = to.minusDays(29);
+            } else if (start != null && end != null) {
+                from = LocalDate.parse(start);
+                to = LocalDate.parse(end);
+            } else {
+                from = to.minusDays(29);
+            }
 
-        Map<String, Long> byCountry = rows.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getCountry() == null ? "UN" : r.getCountry(),
-                        Collectors.counting()
-                ));
+            rows = rollupRepo.findDaily(alias, from, to);
+            resp.metrics.timeseries = buildDailySeries(rows, from, to);
+        }
 
-        resp.metrics.countries = byCountry.entrySet().stream()
+        resp.metrics.countries = totalsBy(rows, RollupDimension.COUNTRY).entrySet().stream()
                 .map(e -> {
                     AnalyticsResponse.CountryMetric m = new AnalyticsResponse.CountryMetric();
                     m.country = e.getKey();
@@ -93,13 +109,7 @@ public class AnalyticsService {
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        Map<String, Long> byDevice = rows.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getDevice() == null ? "desktop" : r.getDevice(),
-                        Collectors.counting()
-                ));
-
-        resp.metrics.devices = byDevice.entrySet().stream()
+        resp.metrics.devices = totalsBy(rows, RollupDimension.DEVICE).entrySet().stream()
                 .map(e -> {
                     AnalyticsResponse.DeviceMetric m = new AnalyticsResponse.DeviceMetric();
                     m.type = e.getKey();
@@ -109,13 +119,7 @@ public class AnalyticsService {
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        Map<String, Long> byBrowser = rows.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getBrowser() == null ? "Other" : r.getBrowser(),
-                        Collectors.counting()
-                ));
-
-        resp.metrics.browsers = byBrowser.entrySet().stream()
+        resp.metrics.browsers = totalsBy(rows, RollupDimension.BROWSER).entrySet().stream()
                 .map(e -> {
                     AnalyticsResponse.BrowserMetric m = new AnalyticsResponse.BrowserMetric();
                     m.name = e.getKey();
@@ -125,20 +129,17 @@ public class AnalyticsService {
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        Map<String, Long> byRef = rows.stream()
-                .map(r -> r.getReferer() == null ? "direct" : r.getReferer())
-                .map(rf -> {
-                    try {
-                        var u = new java.net.URI(rf);
-                        String host = u.getHost();
-                        return (host == null) ? rf : host.replaceFirst("^www\\.", "");
-                    } catch (Exception ex) {
-                        return rf;
-                    }
+        resp.metrics.os = totalsBy(rows, RollupDimension.OS).entrySet().stream()
+                .map(e -> {
+                    AnalyticsResponse.OsMetric m = new AnalyticsResponse.OsMetric();
+                    m.name = e.getKey();
+                    m.clicks = e.getValue();
+                    return m;
                 })
-                .collect(Collectors.groupingBy(k -> k, Collectors.counting()));
+                .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
+                .toList();
 
-        resp.metrics.referrers = byRef.entrySet().stream()
+        resp.metrics.referrers = totalsBy(rows, RollupDimension.REFERRER).entrySet().stream()
                 .map(e -> {
                     AnalyticsResponse.ReferrerMetric m = new AnalyticsResponse.ReferrerMetric();
                     m.domain = e.getKey();
@@ -148,8 +149,7 @@ public class AnalyticsService {
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.recentClicks = rows.stream()
-                .limit(50)
+        resp.recentClicks = repo.findTop50ByAliasOrderByClickedAtDesc(alias).stream()
                 .map(r -> {
                     AnalyticsResponse.RecentClick rc = new AnalyticsResponse.RecentClick();
                     rc.timestamp = r.getClickedAt();
@@ -157,6 +157,7 @@ public class AnalyticsService {
                     rc.referrer = r.getReferer();
                     rc.device = r.getDevice();
                     rc.browser = r.getBrowser();
+                    rc.os = r.getOs();
                     return rc;
                 })
                 .toList();
@@ -164,54 +165,35 @@ public class AnalyticsService {
         return resp;
     }
 
-    private List<AnalyticsResponse.TimeSeriesPoint> buildHourlySeries(List<Analytics> rows) {
-
-        LocalDateTime now = LocalDateTime.now();
-        Map<Integer, Long> bucket = new LinkedHashMap<>();
-
-        for (int i = 23; i >= 0; i--) {
-            int hour = now.minusHours(i).getHour();
-            bucket.put(hour, 0L);
-        }
-
-        for (Analytics a : rows) {
-            if (a.getClickedAt().isAfter(now.minusHours(24))) {
-                int hour = a.getClickedAt().getHour();
-                bucket.put(hour, bucket.get(hour) + 1);
+    private Map<String, Long> totalsBy(List<AnalyticsRollupRepository.Row> rows, RollupDimension dimension) {
+        Map<String, Long> totals = new HashMap<>();
+        for (AnalyticsRollupRepository.Row r : rows) {
+            if (r.dimension() == dimension) {
+                totals.merge(r.value(), r.clicks(), Long::sum);
             }
         }
-
-        List<AnalyticsResponse.TimeSeriesPoint> list = new ArrayList<>();
-        for (var e : bucket.entrySet()) {
-            AnalyticsResponse.TimeSeriesPoint p = new AnalyticsResponse.TimeSeriesPoint();
-            p.timestamp = now.withHour(e.getKey()).withMinute(0).withSecond(0).toString();
-            p.clicks = e.getValue();
-            list.add(p);
-        }
-
-        return list;
+        return totals;
     }
 
-    private List<AnalyticsResponse.TimeSeriesPoint> buildDailySeries(List<Analytics> rows, int days) {
+    private List<AnalyticsResponse.TimeSeriesPoint> buildHourlySeries(
+            List<AnalyticsRollupRepository.Row> rows, LocalDateTime from) {
 
-        LocalDate today = LocalDate.now();
-        Map<LocalDate, Long> bucket = new LinkedHashMap<>();
+        Map<LocalDateTime, Long> bucket = new LinkedHashMap<>();
 
-        for (int i = days - 1; i >= 0; i--) {
-            bucket.put(today.minusDays(i), 0L);
+        for (int i = 0; i < 24; i++) {
+            bucket.put(from.plusHours(i), 0L);
         }
 
-        for (Analytics a : rows) {
-            LocalDate d = a.getClickedAt().toLocalDate();
-            if (bucket.containsKey(d)) {
-                bucket.put(d, bucket.get(d) + 1);
+        for (AnalyticsRollupRepository.Row r : rows) {
+            if (r.dimension() == RollupDimension.TOTAL) {
+                bucket.computeIfPresent(r.bucket(), (k, v) -> v + r.clicks());
             }
         }
 
         List<AnalyticsResponse.TimeSeriesPoint> list = new ArrayList<>();
         for (var e : bucket.entrySet()) {
             AnalyticsResponse.TimeSeriesPoint p = new AnalyticsResponse.TimeSeriesPoint();
-            p.date = e.getKey().toString();
+            p.timestamp = e.getKey().toString();
             p.clicks = e.getValue();
             list.add(p);
         }
@@ -219,7 +201,8 @@ public class AnalyticsService {
         return list;
     }
 
-    private List<AnalyticsResponse.TimeSeriesPoint> buildCustomDailySeries(List<Analytics> rows, LocalDate start, LocalDate end) {
+    private List<AnalyticsResponse.TimeSeriesPoint> buildDailySeries(
+            List<AnalyticsRollupRepository.Row> rows, LocalDate start, LocalDate end) {
 
         Map<LocalDate, Long> bucket = new LinkedHashMap<>();
 
@@ -227,10 +210,9 @@ public class AnalyticsService {
             bucket.put(d, 0L);
         }
 
-        for (Analytics a : rows) {
-            LocalDate d = a.getClickedAt().toLocalDate();
-            if (bucket.containsKey(d)) {
-                bucket.put(d, bucket.get(d) + 1);
+        for (AnalyticsRollupRepository.Row r : rows) {
+            if (r.dimension() == RollupDimension.TOTAL) {
+                bucket.computeIfPresent(r.bucket().toLocalDate(), (k, v) -> v + r.clicks());
             }
         }
 
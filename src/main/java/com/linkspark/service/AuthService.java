@@ -4,6 +4,7 @@ import com.linkspark.model.enums.AuthProvider;
 import com.linkspark.domain.User;
 import com.linkspark.dto.AuthDtos;
 import com.linkspark.repository.UserRepository;
+import com.linkspark.security.JwtToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -80,12 +81,12 @@ public class AuthService {
 
     public AuthDtos.TokenResponse refresh(AuthDtos.RefreshRequest request) {
 
-        String email = jwtService.extractUsername(request.refreshToken());
+        JwtToken token = jwtService.parse(request.refreshToken());
 
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmail(token.subject())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
 
-        if (!jwtService.isValid(request.refreshToken(), user, "refresh")) {
+        if (!jwtService.isValid(token, user, "refresh")) {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
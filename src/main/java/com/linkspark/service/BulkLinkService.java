@@ -0,0 +1,385 @@
+package com.linkspark.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkspark.config.BulkLinkProperties;
+import com.linkspark.domain.TeamMember;
+import com.linkspark.domain.User;
+import com.linkspark.dto.BulkDtos.BulkDeleteItem;
+import com.linkspark.dto.BulkDtos.BulkItemResult;
+import com.linkspark.dto.BulkDtos.BulkResult;
+import com.linkspark.dto.BulkDtos.BulkUpdateItem;
+import com.linkspark.dto.CreateLinkRequest;
+import com.linkspark.model.Link;
+import com.linkspark.repository.LinkJdbcRepository;
+import com.linkspark.repository.LinkRepository;
+import com.linkspark.repository.LinkRepository.LinkRef;
+import com.linkspark.repository.TeamMemberRepository;
+import com.linkspark.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates, updates and deletes links in bulk from a JSON array or NDJSON
+ * body. The body is parsed as a stream and handled in chunks, each in its
+ * own transaction, so one bad item or chunk is reported in the per-item
+ * results without failing the rest of the batch.
+ *
+ * Team memberships and password hashes are resolved once per request, not
+ * once per link: imports tend to target one team and reuse one password.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkLinkService {
+
+    private final LinkService linkService;
+    private final LinkRepository linkRepo;
+    private final LinkJdbcRepository linkJdbc;
+    private final TeamRepository teamRepo;
+    private final TeamMemberRepository memberRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final AliasGenerator aliasGenerator;
+    private final AliasBloomFilter aliasBloom;
+    private final RedirectCache redirectCache;
+    private final ClickCounter clickCounter;
+    private final TransactionTemplate tx;
+    private final ObjectMapper mapper;
+    private final BulkLinkProperties properties;
+
+    private record Item<T>(int index, T value) {}
+
+    /** State shared by every chunk of one request. */
+    private class Batch {
+        final User user;
+        final List<BulkItemResult> results = new ArrayList<>();
+        final Map<UUID, Optional<TeamMember>> memberships = new HashMap<>();
+        final Map<String, String> hashes = new HashMap<>();
+        final Set<String> aliases = new HashSet<>();
+
+        Batch(Authentication auth) {
+            this.user = (User) auth.getPrincipal();
+        }
+
+        TeamMember member(UUID teamId) {
+            return memberships
+                    .computeIfAbsent(teamId, id ->
+                            memberRepo.findByTeamAndUser(teamRepo.getReferenceById(id), user)
+                                    .filter(m -> !m.isPending()))
+                    .orElseThrow(() ->
+                            new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a team member"));
+        }
+
+        String hash(String raw) {
+            return hashes.computeIfAbsent(raw, passwordEncoder::encode);
+        }
+
+        void requireAccess(UUID ownerId, UUID teamId, Consumer<TeamMember> permission) {
+            if (teamId == null) {
+                if (!ownerId.equals(user.getId()))
+                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your link");
+            } else {
+                permission.accept(member(teamId));
+            }
+        }
+
+        void fail(int index, String error) {
+            results.add(BulkItemResult.failed(index, error));
+        }
+
+        BulkResult result() {
+            results.sort(Comparator.comparingInt(BulkItemResult::index));
+            int failed = (int) results.stream().filter(r -> r.error() != null).count();
+            return new BulkResult(results.size(), results.size() - failed, failed, results);
+        }
+    }
+
+    public BulkResult create(InputStream body, Authentication auth) throws IOException {
+        Batch batch = new Batch(auth);
+        read(body, CreateLinkRequest.class, batch, chunk -> createChunk(chunk, batch));
+        return batch.result();
+    }
+
+    public BulkResult update(InputStream body, Authentication auth) throws IOException {
+        Batch batch = new Batch(auth);
+        read(body, BulkUpdateItem.class, batch, chunk -> updateChunk(chunk, batch));
+        return batch.result();
+    }
+
+    public BulkResult delete(InputStream body, Authentication auth) throws IOException {
+        Batch batch = new Batch(auth);
+        read(body, BulkDeleteItem.class, batch, chunk -> deleteChunk(chunk, batch));
+        return batch.result();
+    }
+
+    private void createChunk(List<Item<CreateLinkRequest>> chunk, Batch batch) {
+        List<Item<CreateLinkRequest>> items = new ArrayList<>();
+        List<Link> links = new ArrayList<>();
+
+        for (Item<CreateLinkRequest> item : chunk) {
+            CreateLinkRequest req = item.value();
+            boolean custom = req.getCustomAlias() != null && !req.getCustomAlias().isBlank();
+            try {
+                Link link = linkService.newLink(req, custom ? req.getCustomAlias() : null, batch.user, batch::hash);
+
+                if (req.getTeamId() != null) {
+                    linkService.requireEditPermission(batch.member(req.getTeamId()));
+                    link.setTeam(teamRepo.getReferenceById(req.getTeamId()));
+                }
+
+                if (custom && !batch.aliases.add(link.getAlias())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Alias repeated in batch");
+                }
+
+                items.add(item);
+                links.add(link);
+            } catch (ResponseStatusException e) {
+                batch.fail(item.index(), reason(e));
+            }
+        }
+
+        // one lookup for the custom aliases the Bloom filter can't rule out
+        List<String> candidates = links.stream()
+                .map(Link::getAlias)
+                .filter(Objects::nonNull)
+                .filter(a -> !aliasBloom.isReady() || aliasBloom.mightContain(a))
+                .toList();
+        Set<String> taken = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(linkRepo.findExistingAliases(candidates));
+
+        List<Item<CreateLinkRequest>> pendingItems = new ArrayList<>();
+        List<Link> pending = new ArrayList<>();
+        List<Boolean> generated = new ArrayList<>();
+
+        for (int i = 0; i < links.size(); i++) {
+            Link link = links.get(i);
+            boolean generate = link.getAlias() == null;
+
+            if (generate) {
+                link.setAlias(generateAlias(batch));
+            } else if (taken.contains(link.getAlias())) {
+                batch.fail(items.get(i).index(), "Alias already taken");
+                continue;
+            }
+
+            pendingItems.add(items.get(i));
+            pending.add(link);
+            generated.add(generate);
+        }
+
+        // a generated code that lands on someone's custom alias is skipped by
+        // the insert and retried with a fresh one
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<String, Long> ids;
+            try {
+                ids = linkJdbc.insertIgnoringTakenAliases(pending, batch.user.getId(), LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Bulk create of {} links failed", pending.size(), e);
+                pendingItems.forEach(item -> batch.fail(item.index(), "Insert failed"));
+                return;
+            }
+
+            List<Item<CreateLinkRequest>> retryItems = new ArrayList<>();
+            List<Link> retry = new ArrayList<>();
+
+            for (int i = 0; i < pending.size(); i++) {
+                Link link = pending.get(i);
+                Long id = ids.get(link.getAlias());
+
+                if (id != null) {
+                    aliasBloom.put(link.getAlias());
+                    batch.results.add(BulkItemResult.ok(pendingItems.get(i).index(), "created", id, link.getAlias()));
+                } else if (generated.get(i) && attempt < LinkService.MAX_ALIAS_ATTEMPTS) {
+                    link.setAlias(generateAlias(batch));
+                    retryItems.add(pendingItems.get(i));
+                    retry.add(link);
+                } else {
+                    batch.fail(pendingItems.get(i).index(), "Alias already taken");
+                }
+            }
+
+            pendingItems = retryItems;
+            pending = retry;
+            generated = Collections.nCopies(retry.size(), true);
+        }
+    }
+
+    private String generateAlias(Batch batch) {
+        String alias;
+        do {
+            alias = aliasGenerator.next();
+        } while (!batch.aliases.add(alias));
+        return alias;
+    }
+
+    private void updateChunk(List<Item<BulkUpdateItem>> chunk, Batch batch) {
+        // hash before the transaction so BCrypt doesn't hold a connection
+        for (Item<BulkUpdateItem> item : chunk) {
+            BulkUpdateItem req = item.value();
+            if (req.isPasswordProtect() && req.getPassword() != null && !req.getPassword().isBlank()) {
+                batch.hash(req.getPassword());
+            }
+        }
+
+        List<Long> ids = chunk.stream().map(i -> i.value().getId()).filter(Objects::nonNull).toList();
+        List<BulkItemResult> updated = new ArrayList<>();
+
+        try {
+            tx.executeWithoutResult(status -> {
+                Map<Long, Link> links = linkRepo.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Link::getId, Function.identity()));
+
+                for (Item<BulkUpdateItem> item : chunk) {
+                    Link link = links.get(item.value().getId());
+                    if (link == null) {
+                        batch.fail(item.index(), "Link not found");
+                        continue;
+                    }
+
+                    try {
+                        batch.requireAccess(
+                                link.getOwner().getId(),
+                                link.getTeam() == null ? null : link.getTeam().getId(),
+                                linkService::requireEditPermission);
+
+                        linkService.applyUpdate(link, item.value(), batch::hash);
+                        redirectCache.invalidateAfterCommit(link.getAlias());
+                        updated.add(BulkItemResult.ok(item.index(), "updated", link.getId(), link.getAlias()));
+                    } catch (ResponseStatusException e) {
+                        batch.fail(item.index(), reason(e));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk update of {} links failed", updated.size(), e);
+            updated.forEach(r -> batch.fail(r.index(), "Update failed"));
+            return;
+        }
+
+        batch.results.addAll(updated);
+    }
+
+    private void deleteChunk(List<Item<BulkDeleteItem>> chunk, Batch batch) {
+        List<Long> ids = chunk.stream().map(i -> i.value().id()).filter(Objects::nonNull).toList();
+        Map<Long, LinkRef> refs = ids.isEmpty()
+                ? Map.of()
+                : linkRepo.findRefsByIdIn(ids).stream()
+                        .collect(Collectors.toMap(LinkRef::getId, Function.identity()));
+
+        List<Item<BulkDeleteItem>> allowedItems = new ArrayList<>();
+        List<LinkRef> allowed = new ArrayList<>();
+
+        for (Item<BulkDeleteItem> item : chunk) {
+            LinkRef ref = refs.get(item.value().id());
+            if (ref == null) {
+                batch.fail(item.index(), "Link not found");
+                continue;
+            }
+
+            try {
+                batch.requireAccess(ref.getOwnerId(), ref.getTeamId(), linkService::requireDeletePermission);
+                allowedItems.add(item);
+                allowed.add(ref);
+            } catch (ResponseStatusException e) {
+                batch.fail(item.index(), reason(e));
+            }
+        }
+
+        if (allowed.isEmpty()) return;
+
+        try {
+            tx.executeWithoutResult(status -> {
+                linkJdbc.deleteByIds(allowed.stream().map(LinkRef::getId).distinct().toList());
+                allowed.forEach(ref -> {
+                    redirectCache.invalidateAfterCommit(ref.getAlias());
+                    clickCounter.discard(ref.getId());
+                });
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk delete of {} links failed", allowed.size(), e);
+            allowedItems.forEach(item -> batch.fail(item.index(), "Delete failed"));
+            return;
+        }
+
+        for (int i = 0; i < allowed.size(); i++) {
+            LinkRef ref = allowed.get(i);
+            batch.results.add(BulkItemResult.ok(allowedItems.get(i).index(), "deleted", ref.getId(), ref.getAlias()));
+        }
+    }
+
+    /**
+     * Reads a JSON array, or a stream of root-level objects (NDJSON), one
+     * item at a time and hands them to {@code handler} in chunks. Items
+     * that don't bind are failed here; a syntax error stops reading.
+     */
+    private <T> void read(InputStream body, Class<T> type, Batch batch,
+                          Consumer<List<Item<T>>> handler) throws IOException {
+
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = mapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (index >= properties.getMaxItems()) {
+                    batch.fail(index, "Too many items, at most " + properties.getMaxItems() + " per request");
+                    break;
+                }
+
+                JsonNode node = parser.readValueAsTree();
+                T value = null;
+                try {
+                    value = node == null || !node.isObject() ? null : mapper.treeToValue(node, type);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    // reported below
+                }
+
+                if (value == null) {
+                    batch.fail(index, "Invalid item");
+                } else {
+                    chunk.add(new Item<>(index, value));
+                }
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    handler.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            batch.fail(index, "Malformed JSON, nothing after this item was read");
+        }
+
+        if (!chunk.isEmpty()) {
+            handler.accept(chunk);
+        }
+    }
+
+    private static String reason(ResponseStatusException e) {
+        return e.getReason() != null ? e.getReason() : e.getStatusCode().toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.linkspark.service;
+
+import com.linkspark.model.Analytics;
+import com.linkspark.model.enums.RollupDimension;
+import com.linkspark.repository.AnalyticsJdbcRepository;
+import com.linkspark.repository.AnalyticsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists a batch of click events: the raw rows plus their contribution
+ * to the hourly and daily rollups, atomically.
+ *
+ * Referrers are normalized here, once per click. Their dictionary ids are
+ * resolved before the batch transaction opens, so a rolled-back batch
+ * cannot leave uncommitted ids in the dictionary cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClickBatchWriter {
+
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final AnalyticsJdbcRepository analyticsJdbcRepo;
+    private final AnalyticsRollupRepository rollupRepo;
+    private final ReferrerDomainDictionary referrerDomains;
+    private final TransactionTemplate tx;
+
+    public void write(List<Analytics> batch) {
+        String[] domains = new String[batch.size()];
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i < domains.length; i++) {
+            domains[i] = ReferrerDomainDictionary.normalize(batch.get(i).getReferer());
+            distinct.add(domains[i]);
+        }
+
+        Map<String, Integer> ids = referrerDomains.idsFor(distinct);
+        for (int i = 0; i < domains.length; i++) {
+            batch.get(i).setReferrerDomainId(ids.get(domains[i]));
+        }
+
+        tx.executeWithoutResult(status -> writeRows(batch, domains));
+    }
+
+    private void writeRows(List<Analytics> batch, String[] domains) {
+        analyticsJdbcRepo.insertBatch(batch);
+
+        Map<AnalyticsRollupRepository.Key, Long> hourly = new HashMap<>();
+        Map<AnalyticsRollupRepository.Key, Long> daily = new HashMap<>();
+
+        for (int i = 0; i < domains.length; i++) {
+            Analytics a = batch.get(i);
+            LocalDateTime hour = a.getClickedAt().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = a.getClickedAt().truncatedTo(ChronoUnit.DAYS);
+
+            for (RollupDimension dim : RollupDimension.values()) {
+                String value = dimensionValue(a, dim, domains[i]);
+                hourly.merge(new AnalyticsRollupRepository.Key(a.getAlias(), hour, dim, value), 1L, Long::sum);
+                daily.merge(new AnalyticsRollupRepository.Key(a.getAlias(), day, dim, value), 1L, Long::sum);
+            }
+        }
+
+        rollupRepo.incrementHourly(hourly);
+        rollupRepo.incrementDaily(daily);
+    }
+
+    private static String dimensionValue(Analytics a, RollupDimension dim, String referrerDomain) {
+        String value = switch (dim) {
+            case TOTAL -> "";
+            case COUNTRY -> a.getCountry() == null ? "UN" : a.getCountry();
+            case DEVICE -> a.getDevice() == null ? "desktop" : a.getDevice();
+            case BROWSER -> a.getBrowser() == null ? "Other" : a.getBrowser();
+            case OS -> a.getOs() == null ? "Other" : a.getOs();
+            case REFERRER -> referrerDomain;
+        };
+        return value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value;
+    }
+}
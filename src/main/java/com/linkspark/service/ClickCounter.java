@@ -0,0 +1,76 @@
+package com.linkspark.service;
+
+import com.linkspark.repository.LinkJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-link click counters. Redirects only bump a {@link LongAdder}; a
+ * scheduled flush folds the accumulated deltas into links.clicks and the
+ * current week bucket with relative UPDATEs, so concurrent clicks never
+ * overwrite each other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClickCounter {
+
+    private final LinkJdbcRepository linkJdbcRepo;
+
+    private final Map<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counters the previous flush found idle and removed. A redirect that
+     * looked one up just before the removal still increments it, so they
+     * are read once more before being let go.
+     */
+    private Map<Long, LongAdder> retired = new HashMap<>();
+
+    public void increment(Long linkId) {
+        counters.computeIfAbsent(linkId, id -> new LongAdder()).increment();
+    }
+
+    public void discard(Long linkId) {
+        counters.remove(linkId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.clicks.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        retired.forEach((id, adder) -> {
+            long n = adder.sum();
+            if (n > 0) deltas.merge(id, n, Long::sum);
+        });
+
+        // links with no clicks since the last flush give up their counter
+        Map<Long, LongAdder> idle = new HashMap<>();
+        counters.forEach((id, adder) -> {
+            long n = adder.sumThenReset();
+            if (n > 0) deltas.merge(id, n, Long::sum);
+            else if (counters.remove(id, adder)) idle.put(id, adder);
+        });
+        retired = idle;
+
+        if (deltas.isEmpty()) return;
+
+        try {
+            linkJdbcRepo.addClicks(deltas);
+        } catch (Exception e) {
+            log.error("Failed to flush clicks for {} links, retrying next cycle", deltas.size(), e);
+            deltas.forEach((id, n) -> counters.computeIfAbsent(id, k -> new LongAdder()).add(n));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,161 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AnalyticsIngestProperties;
+import com.linkspark.model.Analytics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decouples click recording from the redirect response. Events are queued
+ * without blocking and a single writer thread inserts them in batches of up
+ * to {@code flushSize}, or whatever arrived within {@code flushIntervalMs}.
+ * When the queue is full new events are dropped and counted rather than
+ * slowing the redirect down.
+ */
+@Slf4j
+@Component
+public class ClickIngestor implements SmartLifecycle, MeterBinder {
+
+    private final ClickBatchWriter batchWriter;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Analytics> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ClickIngestor(ClickBatchWriter batchWriter, AnalyticsIngestProperties properties) {
+        this.batchWriter = batchWriter;
+        this.flushSize = properties.getFlushSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public boolean submit(Analytics event) {
+        if (queue.offer(event)) return true;
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("linkspark.clicks.queue.depth", this, ClickIngestor::queueDepth)
+                .description("Click events waiting to be written")
+                .register(registry);
+        Gauge.builder("linkspark.clicks.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .register(registry);
+        FunctionCounter.builder("linkspark.clicks.dropped", this, ClickIngestor::droppedCount)
+                .description("Click events dropped because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("linkspark.clicks.failed", this, ClickIngestor::failedCount)
+                .description("Click events lost to failed batch writes")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "click-ingestor");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Analytics> rest = new ArrayList<>();
+        while (queue.drainTo(rest, flushSize) > 0) {
+            write(rest);
+            rest.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server so requests still in flight during a
+     * graceful shutdown are flushed.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<Analytics> batch = new ArrayList<>(flushSize);
+
+        while (running) {
+            try {
+                Analytics first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) break;
+
+                    Analytics next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                write(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Analytics> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            batchWriter.write(batch);
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write {} click events", batch.size(), e);
+        }
+    }
+}
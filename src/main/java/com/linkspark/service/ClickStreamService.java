@@ -0,0 +1,362 @@
+package com.linkspark.service;
+
+import com.linkspark.config.ClickStreamProperties;
+import com.linkspark.dto.AnalyticsResponse;
+import com.linkspark.dto.ClickStreamUpdate;
+import com.linkspark.model.Analytics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of clicks to Server-Sent Event subscribers.
+ *
+ * The redirect path only bumps counters on a per-alias channel, and only
+ * when someone is watching that alias; otherwise it costs one map lookup.
+ * Counters only grow, and every subscriber remembers what it last sent,
+ * so an update is the difference since then. A tick every
+ * {@code intervalMs} hands each subscriber to a small sender pool. A
+ * subscriber whose previous send is still running is skipped, and its
+ * clicks simply fold into the next update. One whose send has been running
+ * for more than {@code stallMs} is disconnected; time spent waiting in the
+ * pool's queue does not count. A blocked socket write is bounded by the
+ * container's write timeout ({@code server.tomcat.connection-timeout}), and
+ * emitters are completed on a separate closer pool, so slow clients cost
+ * neither the redirect path nor the other subscribers. With virtual threads
+ * enabled every send gets its own virtual thread instead of a pool slot.
+ */
+@Slf4j
+@Component
+public class ClickStreamService implements SmartLifecycle, MeterBinder {
+
+    private static final int RECENT_SIZE = 16;
+
+    private final ClickStreamProperties properties;
+    private final boolean virtualThreads;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong stalled = new AtomicLong();
+
+    private volatile boolean running;
+    private ScheduledExecutorService ticker;
+    private Executor senders;
+    private Executor closers;
+
+    public ClickStreamService(ClickStreamProperties properties, Environment environment) {
+        this.properties = properties;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public void publish(Analytics click) {
+        Channel channel = channels.get(click.getAlias());
+        if (channel != null) channel.record(click);
+    }
+
+    /**
+     * Opens a stream over the given aliases. {@code linkIds} maps each alias
+     * to its link id for per-link counts, or is null for a single-link
+     * stream.
+     */
+    public SseEmitter subscribe(Set<String> aliases, Map<String, Long> linkIds) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        Subscriber sub = new Subscriber(emitter, linkIds);
+
+        for (String alias : aliases) {
+            channels.compute(alias, (k, c) -> {
+                Channel channel = c != null ? c : new Channel();
+                sub.cursors.put(k, new Cursor(channel));
+                channel.subscribers.add(sub);
+                return channel;
+            });
+        }
+        subscribers.add(sub);
+
+        emitter.onCompletion(() -> unsubscribe(sub));
+        emitter.onTimeout(() -> unsubscribe(sub));
+        emitter.onError(e -> unsubscribe(sub));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("linkspark.stream.subscribers", this, ClickStreamService::subscriberCount)
+                .description("Open live click streams")
+                .register(registry);
+        FunctionCounter.builder("linkspark.stream.stalled", stalled, AtomicLong::get)
+                .description("Live click streams dropped for not keeping up")
+                .register(registry);
+    }
+
+    private void unsubscribe(Subscriber sub) {
+        if (!subscribers.remove(sub)) return;
+        subscriberCount.decrementAndGet();
+
+        for (String alias : sub.cursors.keySet()) {
+            channels.computeIfPresent(alias, (k, c) -> {
+                c.subscribers.remove(sub);
+                return c.subscribers.isEmpty() ? null : c;
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        if (virtualThreads) {
+            senders = new VirtualThreadTaskExecutor("click-stream-send-");
+            closers = new VirtualThreadTaskExecutor("click-stream-close-");
+        } else {
+            senders = Executors.newFixedThreadPool(properties.getSenderThreads(), daemonThreads("click-stream-send-"));
+            // unbounded: a closer only waits out one stuck write, which the write timeout ends
+            closers = Executors.newCachedThreadPool(daemonThreads("click-stream-close-"));
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "click-stream-tick");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::tick,
+                properties.getIntervalMs(), properties.getIntervalMs(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ticker.shutdownNow();
+        for (Subscriber sub : subscribers) {
+            close(sub);
+        }
+        if (senders instanceof ExecutorService pool) pool.shutdown();
+        if (closers instanceof ExecutorService pool) pool.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadId = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+
+        for (Subscriber sub : subscribers) {
+            if (sub.sending.compareAndSet(false, true)) {
+                senders.execute(() -> {
+                    long started = System.currentTimeMillis();
+                    sub.sendStartedAt = started;
+                    try {
+                        flush(sub, started);
+                    } finally {
+                        sub.sendStartedAt = 0;
+                        sub.sending.set(false);
+                    }
+                });
+            } else if (sub.sendStartedAt != 0 && now - sub.sendStartedAt > properties.getStallMs()) {
+                log.debug("Dropping stalled click stream subscriber");
+                stalled.incrementAndGet();
+                close(sub);
+            }
+        }
+    }
+
+    /**
+     * Drops a subscriber and completes its emitter on a closer thread.
+     * {@code complete()} waits on the emitter's monitor, which a send stuck
+     * in a socket write holds, so neither the ticker nor a sender may call it.
+     */
+    private void close(Subscriber sub) {
+        unsubscribe(sub);
+        try {
+            closers.execute(sub.emitter::complete);
+        } catch (RejectedExecutionException e) {
+            // shutting down; the container closes the connection
+        }
+    }
+
+    private void flush(Subscriber sub, long now) {
+        ClickStreamUpdate update = new ClickStreamUpdate();
+        update.countries = new HashMap<>();
+        update.devices = new HashMap<>();
+        update.browsers = new HashMap<>();
+        update.recent = new ArrayList<>();
+        if (sub.linkIds != null) update.links = new HashMap<>();
+
+        for (Map.Entry<String, Cursor> e : sub.cursors.entrySet()) {
+            Cursor cursor = e.getValue();
+            long clicks = cursor.advance(update);
+            if (clicks > 0 && update.links != null) {
+                update.links.merge(sub.linkIds.get(e.getKey()), clicks, Long::sum);
+            }
+            update.clicks += clicks;
+        }
+
+        try {
+            if (update.clicks > 0) {
+                update.recent.sort((a, b) -> b.timestamp.compareTo(a.timestamp));
+                if (update.recent.size() > RECENT_SIZE) update.recent = update.recent.subList(0, RECENT_SIZE);
+                sub.emitter.send(SseEmitter.event().name("clicks").data(update));
+                sub.lastSentAt = now;
+            } else if (now - sub.lastSentAt >= properties.getHeartbeatMs()) {
+                sub.emitter.send(SseEmitter.event().comment("ping"));
+                sub.lastSentAt = now;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away; the emitter's completion callback may not fire for a dead socket
+            unsubscribe(sub);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Map<String, Long> linkIds;
+        final Map<String, Cursor> cursors = new HashMap<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile long sendStartedAt;        // 0 unless a sender is running flush()
+        volatile long lastSentAt = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter, Map<String, Long> linkIds) {
+            this.emitter = emitter;
+            this.linkIds = linkIds;
+        }
+    }
+
+    private record Stamped(long seq, AnalyticsResponse.RecentClick click) {}
+
+    /** Running totals for one alias, shared by all of its subscribers. */
+    private static final class Channel {
+        final LongAdder clicks = new LongAdder();
+        final Map<String, LongAdder> countries = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> devices = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> browsers = new ConcurrentHashMap<>();
+        final AtomicLong seq = new AtomicLong();
+        final AtomicReferenceArray<Stamped> recent = new AtomicReferenceArray<>(RECENT_SIZE);
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        void record(Analytics a) {
+            increment(countries, a.getCountry(), "UN");
+            increment(devices, a.getDevice(), "desktop");
+            increment(browsers, a.getBrowser(), "Other");
+
+            AnalyticsResponse.RecentClick rc = new AnalyticsResponse.RecentClick();
+            rc.timestamp = a.getClickedAt();
+            rc.country = a.getCountry();
+            rc.referrer = a.getReferer();
+            rc.device = a.getDevice();
+            rc.browser = a.getBrowser();
+            rc.os = a.getOs();
+            long s = seq.getAndIncrement();
+            recent.set((int) (s % RECENT_SIZE), new Stamped(s, rc));
+
+            // last, so a reader that sees the new total also sees the breakdown
+            clicks.increment();
+        }
+
+        private static void increment(Map<String, LongAdder> counts, String value, String fallback) {
+            counts.computeIfAbsent(value == null ? fallback : value, k -> new LongAdder()).increment();
+        }
+    }
+
+    /** What one subscriber has already been sent from one channel. */
+    private static final class Cursor {
+        final Channel channel;
+        long clicks;
+        long seq;
+        final Map<String, Long> countries;
+        final Map<String, Long> devices;
+        final Map<String, Long> browsers;
+
+        Cursor(Channel channel) {
+            this.channel = channel;
+            this.clicks = channel.clicks.sum();
+            this.seq = channel.seq.get();
+            this.countries = snapshot(channel.countries);
+            this.devices = snapshot(channel.devices);
+            this.browsers = snapshot(channel.browsers);
+        }
+
+        /** Adds everything since the last call to {@code update}; returns the click delta. */
+        long advance(ClickStreamUpdate update) {
+            long total = channel.clicks.sum();
+            long delta = total - clicks;
+            if (delta <= 0) return 0;
+            clicks = total;
+
+            diff(channel.countries, countries, update.countries);
+            diff(channel.devices, devices, update.devices);
+            diff(channel.browsers, browsers, update.browsers);
+
+            long head = channel.seq.get();
+            for (long s = Math.max(seq, head - RECENT_SIZE); s < head; s++) {
+                Stamped stamped = channel.recent.get((int) (s % RECENT_SIZE));
+                if (stamped != null && stamped.seq() == s) update.recent.add(stamped.click());
+            }
+            seq = head;
+            return delta;
+        }
+
+        private static void diff(Map<String, LongAdder> current, Map<String, Long> sent, Map<String, Long> out) {
+            current.forEach((key, adder) -> {
+                long now = adder.sum();
+                long before = sent.getOrDefault(key, 0L);
+                if (now > before) {
+                    out.merge(key, now - before, Long::sum);
+                    sent.put(key, now);
+                }
+            });
+        }
+
+        private static Map<String, Long> snapshot(Map<String, LongAdder> counts) {
+            Map<String, Long> copy = new HashMap<>();
+            counts.forEach((k, v) -> copy.put(k, v.sum()));
+            return copy;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.linkspark.model.enums.AuthProvider;
 import com.linkspark.domain.User;
 import com.linkspark.repository.UserRepository;
 import com.linkspark.security.CustomUserPrincipal;
+import com.linkspark.security.UserPrincipalCache;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -14,9 +15,11 @@ import org.springframework.stereotype.Service;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
-    public CustomOAuth2UserService(UserRepository userRepository) {
+    public CustomOAuth2UserService(UserRepository userRepository, UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -50,7 +53,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                     if (existing.getProvider() == AuthProvider.LOCAL) {
                         existing.setProvider(provider);
                         existing.setProviderId(providerId);
-                        return userRepository.save(existing);
+                        User saved = userRepository.save(existing);
+                        principalCache.invalidate(saved.getId());
+                        return saved;
                     }
                     return existing;
                 })
@@ -2,8 +2,7 @@ package com.linkspark.service;
 
 import com.linkspark.domain.User;
 import com.linkspark.dto.DashboardResponse;
-import com.linkspark.model.Analytics;
-import com.linkspark.model.Link;
+import com.linkspark.dto.LinkSummary;
 import com.linkspark.repository.AnalyticsRepository;
 import com.linkspark.repository.LinkRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +12,6 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,49 +25,51 @@ public class DashboardService {
         User user = (User) auth.getPrincipal();
         UUID userId = user.getId();
 
-        List<Link> links = linkRepo.findByOwner(user);
-        List<String> aliases = links.stream().map(Link::getAlias).toList();
-
-        List<Analytics> rows = analyticsRepo.findAll().stream()
-                .filter(a -> aliases.contains(a.getAlias()))
-                .sorted(Comparator.comparing(Analytics::getClickedAt).reversed())
-                .toList();
+        List<LinkSummary> links = linkRepo.findLinkSummariesByOwner(userId);
+        String[] aliases = links.stream().map(LinkSummary::alias).toArray(String[]::new);
 
         DashboardResponse resp = new DashboardResponse();
 
         resp.summary = new DashboardResponse.Summary();
-        resp.summary.totalClicks = rows.size();
+        resp.summary.totalClicks = aliases.length == 0 ? 0 : analyticsRepo.countByAliasIn(aliases);
         resp.summary.activeLinks = links.size();
 
         // ---- weekly clicks (rolling last 7 days)
         LocalDate today = LocalDate.now();
         long[] weekly = new long[7];
 
-        for (Analytics a : rows) {
-            LocalDate d = a.getClickedAt().toLocalDate();
-            long diff = java.time.temporal.ChronoUnit.DAYS.between(d, today);
-            if (diff >= 0 && diff < 7) {
-                int index = (int) (6 - diff);
-                weekly[index]++;
+        if (aliases.length > 0) {
+            List<AnalyticsRepository.DayCount> perDay = analyticsRepo.countPerDay(
+                    aliases,
+                    today.minusDays(6).atStartOfDay(),
+                    today.plusDays(1).atStartOfDay()
+            );
+
+            for (AnalyticsRepository.DayCount c : perDay) {
+                long diff = java.time.temporal.ChronoUnit.DAYS.between(c.getDay(), today);
+                if (diff >= 0 && diff < 7) {
+                    int index = (int) (6 - diff);
+                    weekly[index] += c.getClicks();
+                }
             }
         }
 
         resp.summary.weeklyClicks = Arrays.stream(weekly).boxed().toList();
 
+        Map<String, Long> clicksByAlias = aliases.length == 0
+                ? Map.of()
+                : AnalyticsRepository.GroupCount.toMap(analyticsRepo.countPerAlias(aliases));
+
         resp.topLinks = links.stream()
                 .map(l -> {
-                    long clicks = rows.stream()
-                            .filter(a -> a.getAlias().equals(l.getAlias()))
-                            .count();
-
                     DashboardResponse.TopLink t = new DashboardResponse.TopLink();
-                    t.id = l.getId();
-                    t.title = l.getTitle();
-                    t.originalUrl = l.getOriginalUrl();
-                    t.shortUrl = "http://localhost:8000/" + l.getAlias();
-                    t.clicks = clicks;
-                    t.expiresAt = l.getExpiresAt();
-                    t.passwordProtected = l.isPasswordProtect();
+                    t.id = l.id();
+                    t.title = l.title();
+                    t.originalUrl = l.originalUrl();
+                    t.shortUrl = "http://localhost:8000/" + l.alias();
+                    t.clicks = clicksByAlias.getOrDefault(l.alias(), 0L);
+                    t.expiresAt = l.expiresAt();
+                    t.passwordProtected = l.passwordProtect();
 
                     return t;
                 })
@@ -77,8 +77,14 @@ public class DashboardService {
                 .limit(5)
                 .toList();
 
-        resp.activity = rows.stream()
-                .limit(10)
+        if (aliases.length == 0) {
+            resp.activity = List.of();
+            resp.devices = List.of();
+            resp.browsers = List.of();
+            return resp;
+        }
+
+        resp.activity = analyticsRepo.findTop10ByAliasInOrderByClickedAtDesc(aliases).stream()
                 .map(a -> {
                     DashboardResponse.Activity item = new DashboardResponse.Activity();
                     item.id = UUID.randomUUID().toString();
@@ -89,19 +95,13 @@ public class DashboardService {
                 })
                 .toList();
 
-        resp.devices = rows.stream()
-                .collect(Collectors.groupingBy(Analytics::getDevice, Collectors.counting()))
-                .entrySet()
-                .stream()
-                .map(e -> new DashboardResponse.Device(e.getKey(), e.getValue()))
+        resp.devices = analyticsRepo.countPerDevice(aliases).stream()
+                .map(c -> new DashboardResponse.Device(c.getName(), c.getClicks()))
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.browsers = rows.stream()
-                .collect(Collectors.groupingBy(Analytics::getBrowser, Collectors.counting()))
-                .entrySet()
-                .stream()
-                .map(e -> new DashboardResponse.Browser(e.getKey(), e.getValue()))
+        resp.browsers = analyticsRepo.countPerBrowser(aliases).stream()
+                .map(c -> new DashboardResponse.Browser(c.getName(), c.getClicks()))
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
@@ -0,0 +1,448 @@
+package com.linkspark.service;
+
+import com.linkspark.config.GeoIpProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Resolves client IPs to ISO country codes from local IP-range CSV files,
+ * with no external service.
+ *
+ * Two layouts are read, plain or gzipped: range files with rows of
+ * {@code start,end,country} (DB-IP, IP2Location LITE) or
+ * {@code cidr,country}, and MaxMind GeoLite2/GeoIP2 {@code *-Blocks-*}
+ * files, which name a geoname id that {@code app.geoip.locations} maps to
+ * a country.
+ *
+ * Ranges are held in sorted primitive arrays, IPv4 as ints and IPv6 as
+ * pairs of longs, with the sign bit flipped so signed comparison orders
+ * them as unsigned. A lookup is one binary search with no allocation for
+ * IPv4. The files are checked for changes every
+ * {@code app.geoip.reload-check-ms}; a new table is built off to the side
+ * and swapped in whole, and a broken file leaves the old one in place.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeoIpResolver {
+
+    private static final Table EMPTY = new Table(List.of(), new int[0], new int[0], new short[0],
+            new long[0], new long[0], new long[0], new long[0], new short[0], new String[0]);
+
+    private final GeoIpProperties properties;
+
+    private volatile Table table = EMPTY;
+
+    private record Stamp(Path path, long modified, long size) {}
+
+    private record Table(List<Stamp> sources,
+                         int[] v4Start, int[] v4End, short[] v4Country,
+                         long[] v6StartHi, long[] v6StartLo, long[] v6EndHi, long[] v6EndLo, short[] v6Country,
+                         String[] countries) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reloadIfChanged();
+    }
+
+    @Scheduled(fixedDelayString = "${app.geoip.reload-check-ms:60000}",
+            initialDelayString = "${app.geoip.reload-check-ms:60000}")
+    public void reloadIfChanged() {
+        if (properties.getDatabases().isEmpty()) return;
+
+        try {
+            List<Stamp> sources = stamps();
+            if (sources.equals(table.sources())) return;
+
+            long started = System.nanoTime();
+            Table loaded = load(sources);
+            table = loaded;
+            log.info("Loaded GeoIP ranges: {} IPv4, {} IPv6 in {} ms",
+                    loaded.v4Start().length, loaded.v6StartHi().length,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("GeoIP database reload failed, keeping the previous ranges", e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return table != EMPTY;
+    }
+
+    /** Country code for a textual IP, or null when unknown or unparseable. */
+    public String resolve(String ip) {
+        if (ip == null || ip.isEmpty()) return null;
+        Table t = table;
+        if (t == EMPTY) return null;
+
+        long v4 = parseV4(ip);
+        if (v4 >= 0) return lookupV4(t, (int) v4);
+        if (ip.indexOf(':') < 0) return null;
+
+        // a ':' keeps InetAddress on the literal path: it never queries DNS
+        byte[] bytes;
+        try {
+            InetAddress addr = InetAddress.getByName(ip);
+            if (addr instanceof Inet4Address) return lookupV4(t, toInt(addr.getAddress(), 0));
+            bytes = addr.getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+        return lookupV6(t, toLong(bytes, 0), toLong(bytes, 8));
+    }
+
+    private static String lookupV4(Table t, int ip) {
+        int key = ip ^ Integer.MIN_VALUE;
+        int[] starts = t.v4Start();
+
+        int lo = 0, hi = starts.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= key) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        if (found < 0 || key > t.v4End()[found]) return null;
+        return t.countries()[t.v4Country()[found]];
+    }
+
+    private static String lookupV6(Table t, long ipHi, long ipLo) {
+        long keyHi = ipHi ^ Long.MIN_VALUE;
+        long keyLo = ipLo ^ Long.MIN_VALUE;
+        long[] startHi = t.v6StartHi();
+        long[] startLo = t.v6StartLo();
+
+        int lo = 0, hi = startHi.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (startHi[mid] < keyHi || (startHi[mid] == keyHi && startLo[mid] <= keyLo)) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        if (found < 0) return null;
+        long endHi = t.v6EndHi()[found];
+        if (keyHi > endHi || (keyHi == endHi && keyLo > t.v6EndLo()[found])) return null;
+        return t.countries()[t.v6Country()[found]];
+    }
+
+    private List<Stamp> stamps() throws IOException {
+        List<Stamp> stamps = new ArrayList<>();
+        for (String db : properties.getDatabases()) {
+            stamps.add(stamp(Path.of(db)));
+        }
+        if (properties.getLocations() != null && !properties.getLocations().isBlank()) {
+            stamps.add(stamp(Path.of(properties.getLocations())));
+        }
+        return stamps;
+    }
+
+    private static Stamp stamp(Path path) throws IOException {
+        return new Stamp(path, Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+    }
+
+    // ---- loading ------------------------------------------------------------
+
+    private Table load(List<Stamp> sources) throws IOException {
+        Loader loader = new Loader();
+        String locations = properties.getLocations();
+        if (locations != null && !locations.isBlank()) {
+            loader.readLocations(Path.of(locations));
+        }
+        for (String db : properties.getDatabases()) {
+            loader.readRanges(Path.of(db));
+        }
+        return loader.build(sources);
+    }
+
+    /** Accumulates ranges for one load; only the finished arrays are kept. */
+    private static final class Loader {
+
+        private final Map<String, Short> countryIndex = new HashMap<>();
+        private final List<String> countries = new ArrayList<>();
+        private final Map<String, String> geonames = new HashMap<>();
+        private final List<long[]> v4 = new ArrayList<>();   // start, end, country
+        private final List<long[]> v6 = new ArrayList<>();   // startHi, startLo, endHi, endLo, country
+        private int skipped;
+
+        void readLocations(Path path) throws IOException {
+            try (BufferedReader in = open(path)) {
+                String[] header = split(in.readLine());
+                int id = indexOf(header, "geoname_id");
+                int iso = indexOf(header, "country_iso_code");
+                if (id < 0 || iso < 0) throw new IOException(path + " is not a MaxMind locations file");
+
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String[] f = split(line);
+                    if (f.length > Math.max(id, iso) && !f[iso].isEmpty()) geonames.put(f[id], f[iso]);
+                }
+            }
+        }
+
+        void readRanges(Path path) throws IOException {
+            try (BufferedReader in = open(path)) {
+                String line = in.readLine();
+                if (line == null) return;
+
+                String[] first = split(line);
+                if (first.length > 1 && first[0].equals("network")) {
+                    readBlocks(in, first);
+                    return;
+                }
+                addRange(first);   // may be a header row, which is not counted as skipped
+
+                while ((line = in.readLine()) != null) {
+                    if (!addRange(split(line))) skipped++;
+                }
+            }
+        }
+
+        private void readBlocks(BufferedReader in, String[] header) throws IOException {
+            if (geonames.isEmpty()) throw new IOException("MaxMind blocks need app.geoip.locations");
+            int geoname = indexOf(header, "geoname_id");
+            int registered = indexOf(header, "registered_country_geoname_id");
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = split(line);
+                String country = f.length > geoname ? geonames.get(f[geoname]) : null;
+                if (country == null && registered >= 0 && f.length > registered) {
+                    country = geonames.get(f[registered]);
+                }
+                if (country == null || !addCidr(f[0], country)) skipped++;
+            }
+        }
+
+        private boolean addRange(String[] f) {
+            if (f.length >= 3) {
+                long[] start = parse(f[0]);
+                long[] end = parse(f[1]);
+                if (start != null && end != null) return add(start, end, f[2]);
+            }
+            return f.length >= 2 && f[0].indexOf('/') > 0 && addCidr(f[0], f[1]);
+        }
+
+        private boolean addCidr(String cidr, String country) {
+            int slash = cidr.indexOf('/');
+            if (slash < 0) return false;
+            long[] base = parse(cidr.substring(0, slash));
+            if (base == null) return false;
+
+            int bits;
+            try {
+                bits = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            if (base.length == 1) {
+                if (bits < 0 || bits > 32) return false;
+                long mask = bits == 0 ? 0 : (0xFFFF_FFFFL << (32 - bits)) & 0xFFFF_FFFFL;
+                long start = base[0] & mask;
+                return add(new long[]{start}, new long[]{start | (~mask & 0xFFFF_FFFFL)}, country);
+            }
+
+            if (bits < 0 || bits > 128) return false;
+            long maskHi = bits >= 64 ? -1L : bits == 0 ? 0 : -1L << (64 - bits);
+            long maskLo = bits <= 64 ? 0 : bits == 128 ? -1L : -1L << (128 - bits);
+            long startHi = base[0] & maskHi;
+            long startLo = base[1] & maskLo;
+            return add(new long[]{startHi, startLo}, new long[]{startHi | ~maskHi, startLo | ~maskLo}, country);
+        }
+
+        private boolean add(long[] start, long[] end, String country) {
+            if (country.length() != 2 || country.equals("ZZ") || country.equals("--")) return false;
+            short code = countryIndex.computeIfAbsent(country.toUpperCase(), c -> {
+                countries.add(c);
+                return (short) (countries.size() - 1);
+            });
+
+            if (start.length == 1 && end.length == 1) {
+                v4.add(new long[]{start[0], end[0], code});
+            } else if (start.length == 2 && end.length == 2) {
+                if (isV4Mapped(start) && isV4Mapped(end)) {
+                    v4.add(new long[]{start[1] & 0xFFFF_FFFFL, end[1] & 0xFFFF_FFFFL, code});
+                } else {
+                    v6.add(new long[]{start[0], start[1], end[0], end[1], code});
+                }
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        Table build(List<Stamp> sources) {
+            v4.sort(Comparator.comparingLong(r -> r[0]));
+            v6.sort((a, b) -> {
+                int c = Long.compareUnsigned(a[0], b[0]);
+                return c != 0 ? c : Long.compareUnsigned(a[1], b[1]);
+            });
+
+            int n4 = 0;
+            int[] v4Start = new int[v4.size()];
+            int[] v4End = new int[v4.size()];
+            short[] v4Country = new short[v4.size()];
+            for (long[] r : v4) {
+                int start = (int) r[0] ^ Integer.MIN_VALUE;
+                int end = (int) r[1] ^ Integer.MIN_VALUE;
+                if (end < start || (n4 > 0 && start <= v4End[n4 - 1])) {
+                    skipped++;   // overlapping or inverted: the search needs disjoint ranges
+                    continue;
+                }
+                v4Start[n4] = start;
+                v4End[n4] = end;
+                v4Country[n4++] = (short) r[2];
+            }
+
+            int n6 = 0;
+            long[] startHi = new long[v6.size()], startLo = new long[v6.size()];
+            long[] endHi = new long[v6.size()], endLo = new long[v6.size()];
+            short[] v6Country = new short[v6.size()];
+            for (long[] r : v6) {
+                long sHi = r[0] ^ Long.MIN_VALUE, sLo = r[1] ^ Long.MIN_VALUE;
+                long eHi = r[2] ^ Long.MIN_VALUE, eLo = r[3] ^ Long.MIN_VALUE;
+                boolean inverted = eHi < sHi || (eHi == sHi && eLo < sLo);
+                boolean overlaps = n6 > 0
+                        && (sHi < endHi[n6 - 1] || (sHi == endHi[n6 - 1] && sLo <= endLo[n6 - 1]));
+                if (inverted || overlaps) {
+                    skipped++;
+                    continue;
+                }
+                startHi[n6] = sHi;
+                startLo[n6] = sLo;
+                endHi[n6] = eHi;
+                endLo[n6] = eLo;
+                v6Country[n6++] = (short) r[4];
+            }
+
+            if (skipped > 0) log.warn("GeoIP: skipped {} unusable rows", skipped);
+
+            return new Table(sources,
+                    Arrays.copyOf(v4Start, n4), Arrays.copyOf(v4End, n4),
+                    Arrays.copyOf(v4Country, n4),
+                    Arrays.copyOf(startHi, n6), Arrays.copyOf(startLo, n6),
+                    Arrays.copyOf(endHi, n6), Arrays.copyOf(endLo, n6),
+                    Arrays.copyOf(v6Country, n6),
+                    countries.toArray(String[]::new));
+        }
+
+        private static boolean isV4Mapped(long[] addr) {
+            return addr[0] == 0 && (addr[1] >>> 32) == 0xFFFFL;
+        }
+
+        /** One element for IPv4, two for IPv6; IPv4 may also be a decimal integer. */
+        private static long[] parse(String s) {
+            long v4 = parseV4(s);
+            if (v4 >= 0) return new long[]{v4};
+
+            if (!s.isEmpty() && s.length() <= 10 && s.chars().allMatch(Character::isDigit)) {
+                long n = Long.parseLong(s);
+                return n <= 0xFFFF_FFFFL ? new long[]{n} : null;
+            }
+            if (s.indexOf(':') < 0) return null;
+
+            try {
+                InetAddress addr = InetAddress.getByName(s);
+                byte[] b = addr.getAddress();
+                if (addr instanceof Inet4Address) return new long[]{toInt(b, 0) & 0xFFFF_FFFFL};
+                return new long[]{toLong(b, 0), toLong(b, 8)};
+            } catch (UnknownHostException e) {
+                return null;
+            }
+        }
+
+        private static BufferedReader open(Path path) throws IOException {
+            InputStream in = Files.newInputStream(path);
+            if (path.getFileName().toString().endsWith(".gz")) in = new GZIPInputStream(in, 1 << 16);
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        private static String[] split(String line) {
+            if (line == null) return new String[0];
+            String[] f = line.split(",", -1);
+            for (int i = 0; i < f.length; i++) {
+                String v = f[i].trim();
+                if (v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"') {
+                    v = v.substring(1, v.length() - 1);
+                }
+                f[i] = v;
+            }
+            return f;
+        }
+
+        private static int indexOf(String[] header, String column) {
+            for (int i = 0; i < header.length; i++) {
+                if (header[i].equals(column)) return i;
+            }
+            return -1;
+        }
+    }
+
+    // ---- address parsing ----------------------------------------------------
+
+    /** Dotted-quad IPv4 as an unsigned value, or -1 when {@code s} isn't one. */
+    static long parseV4(String s) {
+        int len = s.length();
+        if (len < 7 || len > 15) return -1;
+
+        long result = 0;
+        int octet = 0, digits = 0, dots = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) return -1;
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                result = (result << 8) | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) return -1;
+        return (result << 8) | octet;
+    }
+
+    private static int toInt(byte[] b, int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+                | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static long toLong(byte[] b, int offset) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) v = (v << 8) | (b[offset + i] & 0xFF);
+        return v;
+    }
+}
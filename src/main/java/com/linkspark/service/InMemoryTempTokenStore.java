@@ -0,0 +1,97 @@
+package com.linkspark.service;
+
+import com.linkspark.config.TempTokenProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-use tokens held on this node. Every token lives for the same
+ * TTL, so a FIFO of issued tokens is also ordered by expiry: purging pops
+ * from the head until it reaches a live token, which costs O(expired)
+ * rather than a scan of the map. The FIFO is capped at {@code maxSize};
+ * past that the oldest token is evicted early, so a flood of tokens that
+ * are never redeemed cannot grow the heap.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.links.temp-tokens", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTempTokenStore implements TempTokenStore, MeterBinder {
+
+    private record Entry(String token, String alias, long expiresAt) {}
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final Queue<Entry> byExpiry = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public InMemoryTempTokenStore(TempTokenProperties properties) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        this.maxSize = properties.getMaxSize();
+    }
+
+    @Override
+    public String issue(String alias) {
+        Entry entry = new Entry(UUID.randomUUID().toString(), alias, System.nanoTime() + ttlNanos);
+
+        while (queued.get() >= maxSize) {
+            Entry oldest = byExpiry.poll();
+            if (oldest == null) break;
+            queued.decrementAndGet();
+            if (tokens.remove(oldest.token(), oldest)) evicted.incrementAndGet();
+        }
+
+        tokens.put(entry.token(), entry);
+        byExpiry.add(entry);
+        queued.incrementAndGet();
+        return entry.token();
+    }
+
+    @Override
+    public boolean consume(String token, String alias) {
+        Entry entry = tokens.get(token);
+        if (entry == null || !entry.alias().equals(alias)) return false;
+        if (!tokens.remove(token, entry)) return false;
+        return System.nanoTime() - entry.expiresAt() < 0;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.links.temp-tokens.purge-interval-ms:5000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        Entry head;
+        while ((head = byExpiry.peek()) != null && now - head.expiresAt() >= 0) {
+            if (byExpiry.remove(head)) {
+                queued.decrementAndGet();
+                tokens.remove(head.token(), head);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("linkspark.temp_tokens.size", this, InMemoryTempTokenStore::size)
+                .description("Unredeemed password-bypass tokens held in memory")
+                .register(registry);
+        FunctionCounter.builder("linkspark.temp_tokens.evicted", evicted, AtomicLong::get)
+                .description("Tokens evicted before expiry because the store was full")
+                .register(registry);
+    }
+}
@@ -1,43 +1,53 @@
 package com.linkspark.service;
 
 import com.linkspark.config.JwtProperties;
+import com.linkspark.domain.User;
+import com.linkspark.security.JwtToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
 
-import java.io.IOException;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
 public class JwtService {
     private final JwtProperties properties;
-    private final UserDetailsService userDetailsService;
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    public JwtService(JwtProperties properties, UserDetailsService userDetailsService) {
+    public JwtService(JwtProperties properties) {
         this.properties = properties;
-        this.userDetailsService = userDetailsService;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
+    /**
+     * Access tokens for application users also carry the user id and roles,
+     * so {@code JwtAuthFilter} can resolve the principal by id from
+     * {@link com.linkspark.security.UserPrincipalCache}.
+     */
     public String generateAccessToken(UserDetails user) {
-        return buildToken(user.getUsername(), properties.getAccessTtlSeconds(), Map.of("typ", "access"));
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("typ", "access");
+        claims.put("roles", user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+
+        if (user instanceof User u && u.getId() != null) {
+            claims.put("uid", u.getId().toString());
+        }
+
+        return buildToken(user.getUsername(), properties.getAccessTtlSeconds(), claims);
     }
 
     public String generateRefreshToken(UserDetails user) {
@@ -52,72 +62,40 @@ public class JwtService {
                 .setIssuer(properties.getIssuer())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
-                .signWith(signingKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Verifies the signature and expiry once and returns the claims the
+     * application cares about. Throws a {@link io.jsonwebtoken.JwtException}
+     * for tokens that are malformed, tampered with or expired.
+     */
+    public JwtToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String uid = claims.get("uid", String.class);
+        List<?> roles = claims.get("roles", List.class);
+
+        return new JwtToken(
+                claims.getSubject(),
+                claims.get("typ", String.class),
+                claims.getExpiration(),
+                uid != null ? UUID.fromString(uid) : null,
+                roles != null ? roles.stream().map(String::valueOf).toList() : List.of()
+        );
     }
 
-    public boolean isValid(String token, UserDetails userDetails, String expectedType) {
-        String username = extractUsername(token);
-        String typ = extractClaim(token, claims -> claims.get("typ", String.class));
-        return username.equals(userDetails.getUsername()) && !isExpired(token) && expectedType.equals(typ);
-    }
-
-    private boolean isExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(signingKey()).build().parseClaimsJws(token).getBody();
-        return resolver.apply(claims);
+    public String extractUsername(String token) {
+        return parse(token).subject();
     }
 
-    private Key signingKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(properties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean isValid(String token, UserDetails userDetails, String expectedType) {
+        return isValid(parse(token), userDetails, expectedType);
     }
 
-    public OncePerRequestFilter authenticationFilter() {
-        return new OncePerRequestFilter() {
-            @Override
-            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-                    throws ServletException, IOException {
-                String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-                if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                String jwt = authHeader.substring(7);
-                String username;
-                try {
-                    username = extractUsername(jwt);
-                } catch (Exception ex) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (isValid(jwt, userDetails, "access")) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                }
-
-                filterChain.doFilter(request, response);
-            }
-        };
+    public boolean isValid(JwtToken token, UserDetails userDetails, String expectedType) {
+        return token.subject().equals(userDetails.getUsername())
+                && !token.isExpired()
+                && token.isType(expectedType);
     }
 }
-
-
@@ -5,13 +5,22 @@ import com.linkspark.domain.TeamMember;
 import com.linkspark.domain.User;
 import com.linkspark.dto.CreateLinkRequest;
 import com.linkspark.dto.LinkDto;
+import com.linkspark.dto.LinkPage;
+import com.linkspark.dto.LinkQuery;
+import com.linkspark.dto.LinkSummary;
+import com.linkspark.dto.RedirectView;
 import com.linkspark.dto.TeamDto;
 import com.linkspark.dto.UpdateLinkRequest;
 import com.linkspark.model.Link;
+import com.linkspark.repository.LinkJdbcRepository;
 import com.linkspark.repository.LinkRepository;
+import com.linkspark.repository.LinkSpecifications;
 import com.linkspark.repository.TeamMemberRepository;
 import com.linkspark.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,10 +28,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,20 +46,23 @@ public class LinkService {
     private final TeamRepository teamRepo;
     private final TeamMemberRepository memberRepo;
     private final PasswordEncoder passwordEncoder;
+    private final RedirectCache redirectCache;
+    private final ClickCounter clickCounter;
+    private final AliasGenerator aliasGenerator;
+    private final AliasBloomFilter aliasBloom;
+    private final LinkJdbcRepository linkJdbcRepo;
+    private final PasswordVerifier passwordVerifier;
+    private final PasswordAttemptLimiter attemptLimiter;
+    private final TempTokenStore tempTokens;
+    // Boot's executor, which also runs async MVC requests; resolved by name
+    private final AsyncTaskExecutor applicationTaskExecutor;
 
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final Duration LOCK_DURATION = Duration.ofMinutes(10);
+    static final int MAX_ALIAS_ATTEMPTS = 5;
 
-    private final Map<String, TempToken> tempTokens = new ConcurrentHashMap<>();
-
-    private static class TempToken {
-        String alias;
-        LocalDateTime expiresAt;
-        TempToken(String alias, LocalDateTime expiresAt) {
-            this.alias = alias;
-            this.expiresAt = expiresAt;
-        }
-    }
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     private TeamMember requireTeamMember(Team team, User user) {
         return memberRepo.findByTeamAndUser(team, user)
@@ -55,12 +71,12 @@ public class LinkService {
                         new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a team member"));
     }
 
-    private void requireEditPermission(TeamMember m) {
+    void requireEditPermission(TeamMember m) {
         if (m.getRole().equals("viewer"))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
 
-    private void requireDeletePermission(TeamMember m) {
+    void requireDeletePermission(TeamMember m) {
         if (m.getRole().equals("viewer") || m.getRole().equals("editor"))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
@@ -70,22 +86,17 @@ public class LinkService {
 
         User user = (User) auth.getPrincipal();
 
-        String alias = (req.getCustomAlias() == null || req.getCustomAlias().isBlank())
-                ? UUID.randomUUID().toString().substring(0, 6)
-                : req.getCustomAlias();
+        boolean custom = req.getCustomAlias() != null && !req.getCustomAlias().isBlank();
+        String alias = custom ? req.getCustomAlias() : aliasGenerator.next();
 
-        if (linkRepo.existsByAlias(alias)) {
+        // Generated codes are unique by construction; a custom alias only
+        // needs a lookup when the Bloom filter can't rule it out.
+        if (custom && (!aliasBloom.isReady() || aliasBloom.mightContain(alias))
+                && linkRepo.existsByAlias(alias)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Alias already taken");
         }
 
-        Link link = new Link();
-        link.setTitle(req.getTitle());
-        link.setOriginalUrl(req.getOriginalUrl());
-        link.setAlias(alias);
-        link.setTags(req.getTags());
-        link.setEnableAnalytics(req.isEnableAnalytics());
-        link.setRedirectType(Integer.parseInt(req.getRedirectType()));
-        link.setOwner(user);
+        Link link = newLink(req, alias, user, passwordEncoder::encode);
 
         if (req.getTeamId() != null) {
             Team team = teamRepo.findById(req.getTeamId())
@@ -97,19 +108,67 @@ public class LinkService {
             link.setTeam(team);
         }
 
-        if (req.getExpiresAt() != null && !req.getExpiresAt().isBlank()) {
-            link.setExpiresAt(LocalDateTime.parse(req.getExpiresAt()));
+        // A taken alias comes back as no row rather than a constraint
+        // violation, so any other violation still surfaces as an error and
+        // the transaction stays usable for another attempt.
+        for (int attempt = 1;
+             linkJdbcRepo.insertIgnoringTakenAliases(List.of(link), user.getId(), link.getCreatedAt()).isEmpty();
+             attempt++) {
+            if (custom) {
+                // lost a race with another request for the same alias
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Alias already taken");
+            }
+            if (attempt == MAX_ALIAS_ATTEMPTS) {
+                throw new IllegalStateException("No free alias after " + MAX_ALIAS_ATTEMPTS + " attempts");
+            }
+            // the generated code was already chosen as someone's custom alias
+            link.setAlias(aliasGenerator.next());
+        }
+
+        aliasBloom.put(link.getAlias());
+        return link.getAlias();
+    }
+
+    /**
+     * Maps a create request onto a new, unsaved link. Shared with the bulk
+     * endpoint, which passes a hasher that reuses hashes within a batch.
+     */
+    Link newLink(CreateLinkRequest req, String alias, User user, Function<String, String> hashPassword) {
+        if (req.getTitle() == null || req.getTitle().isBlank()
+                || req.getOriginalUrl() == null || req.getOriginalUrl().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title and URL are required");
+        }
+
+        Link link = new Link();
+        link.setTitle(req.getTitle());
+        link.setOriginalUrl(req.getOriginalUrl());
+        link.setAlias(alias);
+        link.setTags(req.getTags());
+        link.setEnableAnalytics(req.isEnableAnalytics());
+        link.setOwner(user);
+
+        try {
+            link.setRedirectType(Integer.parseInt(req.getRedirectType()));
+            if (req.getExpiresAt() != null && !req.getExpiresAt().isBlank()) {
+                link.setExpiresAt(LocalDateTime.parse(req.getExpiresAt()));
+            }
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid redirect type or expiry");
         }
 
         if (req.isPasswordProtect()) {
+            if (req.getPassword() == null || req.getPassword().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Password required");
+            }
             link.setPasswordProtect(true);
-            link.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+            link.setPasswordHash(hashPassword.apply(req.getPassword()));
         }
 
-        linkRepo.save(link);
-        return alias;
+        return link;
     }
 
+    /** @deprecated unbounded; use {@link #getLinkPage}. */
+    @Deprecated
     public List<LinkDto> getAllLinks(Authentication auth) {
         User user = (User) auth.getPrincipal();
         return linkRepo.findAllAccessibleLinks(user.getId())
@@ -118,6 +177,81 @@ public class LinkService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the caller's accessible links, newest or most clicked
+     * first. Pages are addressed by an opaque (sort value, id) cursor rather
+     * than an offset, so each page costs the same however deep it is.
+     */
+    public LinkPage getLinkPage(LinkQuery q, Authentication auth) {
+        User user = (User) auth.getPrincipal();
+
+        String field = switch (q.getSort() == null ? "createdAt" : q.getSort()) {
+            case "createdAt" -> "createdAt";
+            case "clicks" -> "clicks";
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort");
+        };
+
+        int limit = q.getLimit() == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(q.getLimit(), MAX_PAGE_SIZE));
+
+        Specification<Link> spec = LinkSpecifications.accessibleBy(
+                user.getId(), memberRepo.findJoinedTeamIds(user.getId()));
+
+        if (q.getTeamId() != null) spec = spec.and(LinkSpecifications.inTeam(q.getTeamId()));
+        if (q.getTag() != null && !q.getTag().isBlank()) spec = spec.and(LinkSpecifications.hasTag(q.getTag()));
+        if (q.getExpired() != null) spec = spec.and(LinkSpecifications.expired(q.getExpired()));
+        if (q.getPasswordProtected() != null)
+            spec = spec.and(LinkSpecifications.passwordProtected(q.getPasswordProtected()));
+        if (q.getQ() != null && !q.getQ().isBlank())
+            spec = spec.and(LinkSpecifications.titleOrAliasStartsWith(q.getQ().trim()));
+        if (q.getCursor() != null && !q.getCursor().isBlank())
+            spec = spec.and(afterCursor(field, q.getCursor()));
+
+        Sort sort = Sort.by(Sort.Direction.DESC, field, "id");
+        List<Link> rows = linkRepo.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+
+        boolean hasMore = rows.size() > limit;
+        List<Link> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String next = null;
+        if (hasMore) {
+            Link last = page.get(page.size() - 1);
+            // timestamp columns keep microseconds; a nanosecond cursor would skip ties
+            Object value = field.equals("clicks")
+                    ? last.getClicks()
+                    : last.getCreatedAt().truncatedTo(ChronoUnit.MICROS);
+            next = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (field + "|" + value + "|" + last.getId()).getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+        return new LinkPage(page.stream().map(this::toDto).toList(), next);
+    }
+
+    private Specification<Link> afterCursor(String field, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", 3);
+
+            if (parts.length != 3 || !parts[0].equals(field)) {
+                throw new IllegalArgumentException("Cursor does not match sort");
+            }
+
+            Long id = Long.parseLong(parts[2]);
+            return field.equals("clicks")
+                    ? LinkSpecifications.after(field, Integer.parseInt(parts[1]), id)
+                    : LinkSpecifications.after(field, LocalDateTime.parse(parts[1]), id);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public List<LinkSummary> getAccessibleLinkSummaries(Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        return linkRepo.findAccessibleLinkSummaries(user.getId());
+    }
+
     public LinkDto getOneLink(Long id, Authentication auth) {
         User user = (User) auth.getPrincipal();
 
@@ -149,20 +283,29 @@ public class LinkService {
             requireEditPermission(m);
         }
 
+        applyUpdate(link, req, passwordEncoder::encode);
+
+        redirectCache.invalidateAfterCommit(link.getAlias());
+        return toDto(linkRepo.save(link));
+    }
+
+    /**
+     * Copies an update request onto a link; shared with the bulk endpoint.
+     * Everything that can be rejected is checked before the first setter,
+     * so a 400 never leaves a half-updated entity behind to be flushed.
+     */
+    void applyUpdate(Link link, UpdateLinkRequest req, Function<String, String> hashPassword) {
+        LocalDateTime expiresAt = parseExpiry(req.getExpiresAt());
+
         if (req.getTitle() != null) link.setTitle(req.getTitle());
         link.setTags(req.getTags());
         link.setEnableAnalytics(req.isEnableAnalytics());
-
-        if (req.getExpiresAt() != null && !req.getExpiresAt().isBlank()) {
-            link.setExpiresAt(LocalDateTime.parse(req.getExpiresAt()));
-        } else {
-            link.setExpiresAt(null);
-        }
+        link.setExpiresAt(expiresAt);
 
         if (req.isPasswordProtect()) {
             link.setPasswordProtect(true);
             if (req.getPassword() != null && !req.getPassword().isBlank()) {
-                link.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+                link.setPasswordHash(hashPassword.apply(req.getPassword()));
             }
         } else {
             link.setPasswordProtect(false);
@@ -172,8 +315,15 @@ public class LinkService {
         if (req.getRedirectType() != null) {
             link.setRedirectType(req.getRedirectType());
         }
+    }
 
-        return toDto(linkRepo.save(link));
+    private static LocalDateTime parseExpiry(String expiresAt) {
+        if (expiresAt == null || expiresAt.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(expiresAt);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid expiry");
+        }
     }
 
     @Transactional
@@ -191,9 +341,15 @@ public class LinkService {
             requireDeletePermission(m);
         }
 
+        redirectCache.invalidateAfterCommit(link.getAlias());
+        clickCounter.discard(link.getId());
         linkRepo.delete(link);
     }
 
+    /**
+     * Always asks the database: the Bloom filter has not seen aliases created
+     * on other nodes since it loaded, so a negative from it is no answer here.
+     */
     public boolean isAliasAvailable(String alias) {
         return !linkRepo.existsByAlias(alias);
     }
@@ -204,78 +360,83 @@ public class LinkService {
                         new ResponseStatusException(HttpStatus.NOT_FOUND, "Link not found"));
     }
 
+    public RedirectView getRedirectView(String alias) {
+        return redirectCache.get(alias, a -> RedirectView.from(getLinkByAlias(a)));
+    }
+
     public long getRemainingLockSeconds(Link link) {
-        if (link.getLockedUntil() == null) return 0;
-        if (link.getLockedUntil().isBefore(LocalDateTime.now())) return 0;
-        return Duration.between(LocalDateTime.now(), link.getLockedUntil()).getSeconds();
+        return remainingLockSeconds(link.getLockedUntil());
     }
 
-    @Transactional
-    public String verifyPasswordAndCreateToken(String alias, String rawPassword, int ttlSeconds) {
+    private static long remainingLockSeconds(LocalDateTime lockedUntil) {
+        if (lockedUntil == null) return 0;
+        if (lockedUntil.isBefore(LocalDateTime.now())) return 0;
+        return Duration.between(LocalDateTime.now(), lockedUntil).getSeconds();
+    }
+
+    /** Outcome of a password attempt: a token on success, else how long the link stays locked. */
+    public record VerifyResult(String token, long lockedSeconds) {}
+
+    /**
+     * Checks a link password and issues a temp token. Attempts first pass
+     * the per-node {@link PasswordAttemptLimiter}; the link is then read
+     * with plain JDBC and BCrypt runs on the {@link PasswordVerifier} pool,
+     * so neither a request thread nor a database connection waits on the
+     * hash. The outcome is recorded back on the application task executor,
+     * so BCrypt threads never wait on a connection, with one conditional
+     * UPDATE, which keeps the failure count exact under concurrent guesses.
+     */
+    public CompletableFuture<VerifyResult> verifyPasswordAndCreateToken(String alias, String rawPassword) {
+
+        if (attemptLimiter.lockedSeconds(alias) > 0) {
+            throw new ResponseStatusException(HttpStatus.LOCKED);
+        }
+        if (!attemptLimiter.tryAcquire(alias)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many password attempts, try again shortly");
+        }
 
-        Link link = getLinkByAlias(alias);
+        LinkJdbcRepository.Credentials link = linkJdbcRepo.findCredentials(alias)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Link not found"));
 
-        if (link.getExpiresAt() != null &&
-                link.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (link.expiresAt() != null &&
+                link.expiresAt().isBefore(LocalDateTime.now())) {
             throw new ResponseStatusException(HttpStatus.GONE, "Link expired");
         }
 
-        long lock = getRemainingLockSeconds(link);
+        long lock = remainingLockSeconds(link.lockedUntil());
         if (lock > 0) {
+            attemptLimiter.locked(alias, link.lockedUntil());
             throw new ResponseStatusException(HttpStatus.LOCKED);
         }
 
-        if (link.getPasswordHash() == null) return null;
-
-        if (passwordEncoder.matches(rawPassword, link.getPasswordHash())) {
-            link.setFailedAttempts(0);
-            link.setLockedUntil(null);
-            linkRepo.save(link);
-
-            String token = UUID.randomUUID().toString();
-            tempTokens.put(
-                    token,
-                    new TempToken(alias, LocalDateTime.now().plusSeconds(ttlSeconds))
-            );
-            return token;
+        if (link.passwordHash() == null) {
+            return CompletableFuture.completedFuture(new VerifyResult(null, 0));
         }
 
-        int attempts = link.getFailedAttempts() + 1;
-        link.setFailedAttempts(attempts);
+        return passwordVerifier.matches(rawPassword, link.passwordHash()).thenApplyAsync(ok -> {
+            LocalDateTime now = LocalDateTime.now();
 
-        if (attempts >= MAX_FAILED_ATTEMPTS) {
-            link.setLockedUntil(LocalDateTime.now().plus(LOCK_DURATION));
-        }
+            LocalDateTime lockedUntil = ok
+                    ? linkJdbcRepo.clearFailedAttempts(link.id(), now)
+                    : linkJdbcRepo.recordFailedAttempt(link.id(), MAX_FAILED_ATTEMPTS, now, now.plus(LOCK_DURATION));
 
-        linkRepo.save(link);
-        return null;
+            long remaining = remainingLockSeconds(lockedUntil);
+            if (remaining > 0) {
+                attemptLimiter.locked(alias, lockedUntil);
+                return new VerifyResult(null, remaining);
+            }
+            if (!ok) return new VerifyResult(null, 0);
+
+            return new VerifyResult(tempTokens.issue(alias), 0);
+        }, applicationTaskExecutor);
     }
 
-    @Transactional
     public boolean validateAndConsumeTempToken(String token, String alias) {
-        TempToken t = tempTokens.get(token);
-        if (t == null) return false;
-        if (!t.alias.equals(alias)) return false;
-
-        if (t.expiresAt.isBefore(LocalDateTime.now())) {
-            tempTokens.remove(token);
-            return false;
-        }
-
-        tempTokens.remove(token);
-        return true;
+        return tempTokens.consume(token, alias);
     }
 
-    @Transactional
-    public void registerClick(Link link) {
-        link.setClicks(link.getClicks() + 1);
-
-        List<Integer> week = new ArrayList<>(link.getWeekClicks());
-        int last = week.size() - 1;
-        week.set(last, week.get(last) + 1);
-
-        link.setWeekClicks(week);
-        linkRepo.save(link);
+    public void registerClick(RedirectView view) {
+        clickCounter.increment(view.id());
     }
 
     private LinkDto toDto(Link link) {
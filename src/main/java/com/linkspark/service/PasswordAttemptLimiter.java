@@ -0,0 +1,93 @@
+package com.linkspark.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkspark.config.PasswordVerifyProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-link throttle in front of password verification. Attempts are
+ * counted over a sliding window, approximated as the current fixed window
+ * plus the previous one weighted by how much of it still overlaps. A lock
+ * reported by the database is remembered until it runs out, so guesses
+ * against a locked link are refused without a query or a hash.
+ *
+ * State is per node and bounded to the most recently attacked links; the
+ * lockout columns in the database stay authoritative.
+ */
+@Component
+public class PasswordAttemptLimiter implements MeterBinder {
+
+    private final int limit;
+    private final long windowMillis;
+    private final Cache<String, Window> windows;
+    private final AtomicLong throttled = new AtomicLong();
+
+    public PasswordAttemptLimiter(PasswordVerifyProperties properties) {
+        this.limit = properties.getAttemptsPerWindow();
+        this.windowMillis = TimeUnit.SECONDS.toMillis(properties.getWindowSeconds());
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedLinks())
+                .expireAfterAccess(Duration.ofMillis(windowMillis * 2))
+                .build();
+    }
+
+    /** Counts an attempt on {@code alias}; false if it is over the limit and must be refused. */
+    public boolean tryAcquire(String alias) {
+        boolean allowed = windows.get(alias, k -> new Window()).tryAcquire(System.currentTimeMillis());
+        if (!allowed) throttled.incrementAndGet();
+        return allowed;
+    }
+
+    /** Seconds left on a lock this node has seen for {@code alias}, or 0. */
+    public long lockedSeconds(String alias) {
+        Window w = windows.getIfPresent(alias);
+        if (w == null) return 0;
+        long remaining = w.lockedUntil - System.currentTimeMillis();
+        return remaining > 0 ? TimeUnit.MILLISECONDS.toSeconds(remaining) : 0;
+    }
+
+    /** Remembers a lock the database reported, so later attempts skip it. */
+    public void locked(String alias, LocalDateTime until) {
+        long remaining = Duration.between(LocalDateTime.now(), until).toMillis();
+        if (remaining <= 0) return;
+        windows.get(alias, k -> new Window()).lockedUntil = System.currentTimeMillis() + remaining;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("linkspark.password.verify.throttled", throttled, AtomicLong::get)
+                .description("Link password attempts refused by the per-link limiter")
+                .register(registry);
+    }
+
+    private final class Window {
+        long start;
+        int current;
+        int previous;
+        volatile long lockedUntil;
+
+        synchronized boolean tryAcquire(long now) {
+            long windowStart = now - now % windowMillis;
+            if (windowStart != start) {
+                previous = windowStart - start == windowMillis ? current : 0;
+                current = 0;
+                start = windowStart;
+            }
+
+            double overlap = 1 - (double) (now - windowStart) / windowMillis;
+            if (previous * overlap + current >= limit) return false;
+
+            current++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.linkspark.service;
+
+import com.linkspark.config.PasswordVerifyProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs link password checks on a small fixed pool instead of request
+ * threads. A BCrypt check is tens of milliseconds of pure CPU, so the
+ * pool is sized to the cores and the queue is short: once both are full
+ * further attempts are refused with a 429 straight away, and a burst of
+ * guesses on one link cannot tie up the threads that serve redirects.
+ */
+@Component
+public class PasswordVerifier implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder, PasswordVerifyProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "password-verify-" + threadId.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Completes with whether {@code rawPassword} matches; throws 429 if the pool is saturated. */
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.matches(rawPassword, passwordHash), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many password attempts, try again shortly");
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("linkspark.password.verify.queue", executor, e -> e.getQueue().size())
+                .description("Link password checks waiting for a verifier thread")
+                .register(registry);
+        FunctionCounter.builder("linkspark.password.verify.rejected", rejected, AtomicLong::get)
+                .description("Link password checks refused because the verifier was saturated")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
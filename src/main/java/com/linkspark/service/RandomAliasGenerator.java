@@ -0,0 +1,34 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AliasProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Random base62 codes, for deployments without the alias sequence.
+ * Uniqueness rests on the size of the code space and the unique index
+ * (a collision is skipped by the insert and retried with a new code), so
+ * keep app.alias.length generous.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.alias", name = "generator", havingValue = "random")
+public class RandomAliasGenerator implements AliasGenerator {
+
+    private final SecureRandom random = new SecureRandom();
+    private final int length;
+
+    public RandomAliasGenerator(AliasProperties properties) {
+        this.length = properties.getLength();
+    }
+
+    @Override
+    public String next() {
+        char[] out = new char[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = ALPHABET.charAt(random.nextInt(62));
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,71 @@
+package com.linkspark.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linkspark.config.RedirectCacheProperties;
+import com.linkspark.dto.RedirectView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded alias -> {@link RedirectView} cache for the redirect hot path.
+ * Entries expire after the configured TTL so edits made on other nodes
+ * become visible without explicit invalidation. Misses load outside the
+ * cache's locks; see {@link SingleFlightCache}. Besides hit and miss
+ * counts it times the loads themselves, i.e. the database side of a miss.
+ */
+@Component
+public class RedirectCache implements MeterBinder {
+
+    private final SingleFlightCache<String, RedirectView> cache;
+    private volatile Timer loads;
+
+    public RedirectCache(RedirectCacheProperties properties) {
+        this.cache = new SingleFlightCache<>(Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .recordStats());
+    }
+
+    public RedirectView get(String alias, Function<String, RedirectView> loader) {
+        return cache.get(alias, a -> {
+            Timer timer = loads;
+            return timer != null ? timer.record(() -> loader.apply(a)) : loader.apply(a);
+        });
+    }
+
+    public void invalidate(String alias) {
+        cache.invalidate(alias);
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction commits, so a
+     * concurrent redirect cannot re-cache the pre-commit state.
+     */
+    public void invalidateAfterCommit(String alias) {
+        cache.invalidate(alias);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(alias);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cache.bindTo(registry, "redirect");
+        loads = Timer.builder("linkspark.redirect.load")
+                .description("Loading a link into the redirect cache on a miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.linkspark.service;
+
+import com.linkspark.repository.AnalyticsJdbcRepository;
+import com.linkspark.repository.AnalyticsJdbcRepository.PendingReferrer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns referrer domain ids to clicks stored before referrers were
+ * normalized at ingest. Runs once per start on its own thread, in batches
+ * of plain reads and one set-based update each. New clicks always arrive
+ * with an id, so once a pass finds nothing left there is nothing more to
+ * do. Several nodes may run it at once: they write identical values, and
+ * a node that finds its batch already done leaves the rest to the other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferrerDomainBackfill {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final AnalyticsJdbcRepository analyticsJdbcRepo;
+    private final ReferrerDomainDictionary referrerDomains;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Thread worker = new Thread(this::run, "referrer-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void run() {
+        long updated = 0;
+        try {
+            List<PendingReferrer> rows;
+            while (!(rows = analyticsJdbcRepo.findPendingReferrers(BATCH_SIZE)).isEmpty()) {
+                int n = backfill(rows);
+                if (n == 0) break;
+                updated += n;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Referrer domain backfill stopped after {} rows", updated, e);
+            return;
+        }
+        if (updated > 0) log.info("Backfilled referrer domains for {} clicks", updated);
+    }
+
+    private int backfill(List<PendingReferrer> rows) {
+        List<String> domains = new ArrayList<>(rows.size());
+        Set<String> distinct = new HashSet<>();
+        for (PendingReferrer row : rows) {
+            String domain = ReferrerDomainDictionary.normalize(row.referer());
+            domains.add(domain);
+            distinct.add(domain);
+        }
+
+        Map<String, Integer> ids = referrerDomains.idsFor(distinct);
+        return analyticsJdbcRepo.setReferrerDomains(rows, domains.stream().map(ids::get).toList());
+    }
+}
@@ -0,0 +1,99 @@
+package com.linkspark.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.linkspark.repository.ReferrerDomainRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Normalizes Referer headers to a bare host and interns the result in the
+ * referrer_domains table. Both directions are cached: ingest needs ids
+ * for domains, and reports need domains for ids.
+ */
+@Component
+public class ReferrerDomainDictionary implements MeterBinder {
+
+    public static final String DIRECT = "direct";
+    public static final String UNKNOWN = "unknown";
+
+    private static final int MAX_DOMAIN_LENGTH = 255;
+    private static final long MAX_CACHED = 100_000;
+
+    private final ReferrerDomainRepository repo;
+
+    private final Cache<String, Integer> idsByDomain = Caffeine.newBuilder().maximumSize(MAX_CACHED).recordStats().build();
+    private final Cache<Integer, String> domainsById = Caffeine.newBuilder().maximumSize(MAX_CACHED).recordStats().build();
+
+    public ReferrerDomainDictionary(ReferrerDomainRepository repo) {
+        this.repo = repo;
+    }
+
+    public Map<String, Integer> idsFor(Collection<String> domains) {
+        return idsByDomain.getAll(domains, missing -> {
+            Map<String, Integer> loaded = repo.upsert(missing);
+            loaded.forEach((domain, id) -> domainsById.put(id, domain));
+            return loaded;
+        });
+    }
+
+    public Map<Integer, String> domainsFor(Collection<Integer> ids) {
+        return domainsById.getAll(ids, repo::findDomains);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, idsByDomain, "referrer_domain_ids");
+        CaffeineCacheMetrics.monitor(registry, domainsById, "referrer_domain_names");
+    }
+
+    /**
+     * The referring host, lower-cased and without a leading "www." or a
+     * port: "https://www.Google.com:443/search?q=x" becomes "google.com".
+     * A missing header is {@link #DIRECT}; one with no recognizable host is
+     * {@link #UNKNOWN}.
+     */
+    public static String normalize(String referer) {
+        if (referer == null || referer.isBlank()) return DIRECT;
+
+        String s = referer.trim();
+        int scheme = s.indexOf("://");
+        if (scheme <= 0) return UNKNOWN;
+
+        int start = scheme + 3;
+        int end = s.length();
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+
+        int at = s.lastIndexOf('@', end - 1);
+        if (at >= start) start = at + 1;
+
+        int hostEnd = end;
+        if (start < end && s.charAt(start) == '[') {
+            int close = s.indexOf(']', start);
+            if (close < 0 || close >= end) return UNKNOWN;
+            hostEnd = close + 1;
+        } else {
+            int colon = s.indexOf(':', start);
+            if (colon >= 0 && colon < end) hostEnd = colon;
+        }
+
+        String host = s.substring(start, hostEnd).toLowerCase(Locale.ROOT);
+        if (host.endsWith(".")) host = host.substring(0, host.length() - 1);
+        if (host.startsWith("www.")) host = host.substring(4);
+        if (host.isEmpty()) return UNKNOWN;
+
+        return host.length() > MAX_DOMAIN_LENGTH ? host.substring(0, MAX_DOMAIN_LENGTH) : host;
+    }
+}
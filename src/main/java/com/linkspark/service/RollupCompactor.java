@@ -0,0 +1,37 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AnalyticsRollupProperties;
+import com.linkspark.repository.AnalyticsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Drops hourly rollup rows once they are older than the hourly retention.
+ * Their counts already live on in analytics_daily, so the daily table is
+ * the long-term record and the hourly table stays small.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupCompactor {
+
+    private final AnalyticsRollupRepository rollupRepo;
+    private final AnalyticsRollupProperties properties;
+
+    @Scheduled(cron = "0 5 * * * *")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now()
+                .truncatedTo(ChronoUnit.HOURS)
+                .minusHours(properties.getHourlyRetentionHours());
+
+        int removed = rollupRepo.deleteHourlyBefore(cutoff);
+        if (removed > 0) {
+            log.info("Compacted {} hourly rollup rows older than {}", removed, cutoff);
+        }
+    }
+}
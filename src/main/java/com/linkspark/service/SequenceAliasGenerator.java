@@ -0,0 +1,78 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AliasProperties;
+import com.linkspark.repository.LinkJdbcRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out codes from blocks leased off link_alias_seq, so generated
+ * aliases never collide with each other and cost one nextval per block
+ * instead of a lookup per link.
+ *
+ * Sequence numbers are scrambled with an affine map modulo 62^length
+ * before encoding. The map is a bijection, so uniqueness is kept, and
+ * codes no longer read as a visible counter ("0000001", "0000002", ...).
+ * It is not meant to be unguessable.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.alias", name = "generator", havingValue = "sequence", matchIfMissing = true)
+public class SequenceAliasGenerator implements AliasGenerator {
+
+    // Odd and not a multiple of 31, hence coprime with every power of 62.
+    private static final BigInteger MULTIPLIER = BigInteger.valueOf(0x5DEECE66DL);
+    private static final BigInteger OFFSET = BigInteger.valueOf(0x2545F491L);
+
+    private final LinkJdbcRepository linkJdbc;
+    private final int length;
+    private final BigInteger space;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long blockSize;
+    private long next;
+    private long end;
+
+    public SequenceAliasGenerator(LinkJdbcRepository linkJdbc, AliasProperties properties) {
+        if (properties.getLength() < 4 || properties.getLength() > 10) {
+            throw new IllegalArgumentException("app.alias.length must be between 4 and 10");
+        }
+        this.linkJdbc = linkJdbc;
+        this.length = properties.getLength();
+        this.space = BigInteger.valueOf(62).pow(length);
+    }
+
+    /**
+     * A custom alias may already occupy the code; the insert skips taken
+     * aliases and the caller retries with the next one.
+     */
+    @Override
+    public String next() {
+        return AliasGenerator.encode(scramble(nextNumber()), length);
+    }
+
+    private long nextNumber() {
+        lock.lock();
+        try {
+            if (next >= end) {
+                if (blockSize == 0) {
+                    blockSize = linkJdbc.aliasBlockSize();
+                }
+                next = linkJdbc.nextAliasBlock();
+                end = next + blockSize;
+            }
+            if (BigInteger.valueOf(next).compareTo(space) >= 0) {
+                throw new IllegalStateException("Alias space exhausted, raise app.alias.length");
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long scramble(long n) {
+        return BigInteger.valueOf(n).multiply(MULTIPLIER).add(OFFSET).mod(space).longValue();
+    }
+}
@@ -0,0 +1,80 @@
+package com.linkspark.service;
+
+import com.linkspark.config.TempTokenProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Stateless tokens: {@code <expiry>.<hmac>}, where the HMAC-SHA256 covers
+ * the alias and the expiry. Nothing is stored, so any node holding the
+ * same secret can check a token and memory use is zero. The trade-off is
+ * that a token cannot be revoked or used up; it opens its link until it
+ * expires, so keep the TTL short.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.links.temp-tokens", name = "store", havingValue = "signed")
+public class SignedTempTokenStore implements TempTokenStore {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public SignedTempTokenStore(TempTokenProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("app.links.temp-tokens.secret is required for the signed store");
+        }
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(properties.getSecret()), ALGORITHM);
+        this.ttlSeconds = properties.getTtlSeconds();
+    }
+
+    @Override
+    public String issue(String alias) {
+        String expiry = Long.toString(Instant.now().getEpochSecond() + ttlSeconds, 36);
+        return expiry + "." + ENCODER.encodeToString(sign(alias, expiry));
+    }
+
+    @Override
+    public boolean consume(String token, String alias) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) return false;
+
+        String expiry = token.substring(0, dot);
+        byte[] signature;
+        long expiresAt;
+        try {
+            signature = DECODER.decode(token.substring(dot + 1));
+            expiresAt = Long.parseLong(expiry, 36);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(signature, sign(alias, expiry))
+                && Instant.now().getEpochSecond() < expiresAt;
+    }
+
+    private byte[] sign(String alias, String expiry) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(alias.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '\n');
+            return Arrays.copyOf(mac.doFinal(expiry.getBytes(StandardCharsets.US_ASCII)), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.linkspark.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * A Caffeine cache whose loaders run outside the map's locks.
+ *
+ * {@code Cache.get(key, loader)} runs the loader inside
+ * {@code ConcurrentHashMap.compute}, i.e. in a synchronized block, so a
+ * loader that queries the database pins a virtual thread to its carrier
+ * for the whole query. Here the first caller for a key only installs a
+ * future under the lock and loads after releasing it; concurrent callers
+ * for the same key wait on that future, so there is still one load per
+ * key. A null result is not cached.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+
+    public SingleFlightCache(Caffeine<Object, Object> builder) {
+        this.cache = builder.buildAsync();
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> existing = cache.getIfPresent(key);
+
+        if (existing == null) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            existing = cache.asMap().putIfAbsent(key, mine);
+
+            if (existing == null) {
+                try {
+                    V value = loader.apply(key);
+                    mine.complete(value);
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    cache.asMap().remove(key, mine);
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            // rethrow what the loading caller saw, e.g. a 404
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    /** Publishes hit, miss and eviction counts; the builder must {@code recordStats()}. */
+    public void bindTo(MeterRegistry registry, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+}
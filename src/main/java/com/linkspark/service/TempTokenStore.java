@@ -0,0 +1,15 @@
+package com.linkspark.service;
+
+/**
+ * Short-lived tokens that let a visitor who entered a link's password
+ * through the redirect once. The active implementation is picked with
+ * {@code app.links.temp-tokens.store}.
+ */
+public interface TempTokenStore {
+
+    /** Issues a token valid for {@code alias} only. */
+    String issue(String alias);
+
+    /** Whether {@code token} was issued for {@code alias} and has not expired; single-use where supported. */
+    boolean consume(String token, String alias);
+}
@@ -0,0 +1,216 @@
+package com.linkspark.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.linkspark.config.AnalyticsIngestProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies User-Agent strings into browser, OS, device type and a bot
+ * flag.
+ *
+ * All rule tokens are compiled into one Aho–Corasick automaton, so a UA
+ * is classified in a single case-folding pass with no allocation. When
+ * several tokens of a kind match, the highest priority wins: that is how
+ * "Edg/" beats the "Chrome/" every Edge UA also carries, and "iPhone OS"
+ * beats "Mac OS X". Results are cached per raw UA string, since a few
+ * thousand distinct UAs make up most traffic.
+ */
+@Component
+public class UserAgentParser implements MeterBinder {
+
+    public record UserAgentInfo(String browser, String os, String device, boolean bot) {}
+
+    public static final UserAgentInfo UNKNOWN = new UserAgentInfo("Other", "Other", "desktop", false);
+
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    private enum Kind { BROWSER, OS, DEVICE, BOT }
+
+    private static final int KINDS = Kind.values().length;
+
+    private record Rule(String token, Kind kind, String value, int priority) {}
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("edg/", Kind.BROWSER, "Edge", 90),
+            new Rule("edge/", Kind.BROWSER, "Edge", 90),
+            new Rule("edga/", Kind.BROWSER, "Edge", 90),
+            new Rule("edgios/", Kind.BROWSER, "Edge", 90),
+            new Rule("opr/", Kind.BROWSER, "Opera", 90),
+            new Rule("opera", Kind.BROWSER, "Opera", 90),
+            new Rule("opt/", Kind.BROWSER, "Opera", 90),
+            new Rule("samsungbrowser/", Kind.BROWSER, "Samsung Internet", 85),
+            new Rule("yabrowser/", Kind.BROWSER, "Yandex", 85),
+            new Rule("vivaldi/", Kind.BROWSER, "Vivaldi", 85),
+            new Rule("ucbrowser/", Kind.BROWSER, "UC Browser", 85),
+            new Rule("msie ", Kind.BROWSER, "Internet Explorer", 80),
+            new Rule("trident/", Kind.BROWSER, "Internet Explorer", 80),
+            new Rule("firefox/", Kind.BROWSER, "Firefox", 70),
+            new Rule("fxios/", Kind.BROWSER, "Firefox", 70),
+            new Rule("crios/", Kind.BROWSER, "Chrome", 60),
+            new Rule("chromium/", Kind.BROWSER, "Chromium", 55),
+            new Rule("chrome/", Kind.BROWSER, "Chrome", 50),
+            new Rule("safari/", Kind.BROWSER, "Safari", 10),
+
+            new Rule("windows phone", Kind.OS, "Windows Phone", 80),
+            new Rule("iphone", Kind.OS, "iOS", 70),
+            new Rule("ipad", Kind.OS, "iOS", 70),
+            new Rule("ipod", Kind.OS, "iOS", 70),
+            new Rule("android", Kind.OS, "Android", 60),
+            new Rule("cros ", Kind.OS, "ChromeOS", 60),
+            new Rule("windows nt", Kind.OS, "Windows", 50),
+            new Rule("mac os x", Kind.OS, "macOS", 40),
+            new Rule("macintosh", Kind.OS, "macOS", 40),
+            new Rule("linux", Kind.OS, "Linux", 10),
+
+            new Rule("ipad", Kind.DEVICE, "tablet", 90),
+            new Rule("tablet", Kind.DEVICE, "tablet", 90),
+            new Rule("kindle", Kind.DEVICE, "tablet", 90),
+            new Rule("silk/", Kind.DEVICE, "tablet", 90),
+            new Rule("iphone", Kind.DEVICE, "mobile", 60),
+            new Rule("ipod", Kind.DEVICE, "mobile", 60),
+            new Rule("windows phone", Kind.DEVICE, "mobile", 60),
+            new Rule("mobile", Kind.DEVICE, "mobile", 50),
+
+            // "bot" only as the end of a product name ("Googlebot/2.1",
+            // "Twitterbot)") or a "-bot" suffix, so device names such as
+            // "CUBOT KING KONG" are not flagged
+            new Rule("bot/", Kind.BOT, "bot", 1),
+            new Rule("bot;", Kind.BOT, "bot", 1),
+            new Rule("bot)", Kind.BOT, "bot", 1),
+            new Rule("-bot", Kind.BOT, "bot", 1),
+            new Rule("crawler", Kind.BOT, "bot", 1),
+            new Rule("spider", Kind.BOT, "bot", 1),
+            new Rule("slurp", Kind.BOT, "bot", 1),
+            new Rule("facebookexternalhit", Kind.BOT, "bot", 1),
+            new Rule("headlesschrome", Kind.BOT, "bot", 1),
+            new Rule("lighthouse", Kind.BOT, "bot", 1),
+            new Rule("curl/", Kind.BOT, "bot", 1),
+            new Rule("wget/", Kind.BOT, "bot", 1),
+            new Rule("python-requests", Kind.BOT, "bot", 1),
+            new Rule("go-http-client", Kind.BOT, "bot", 1),
+            new Rule("okhttp", Kind.BOT, "bot", 1),
+            new Rule("java/", Kind.BOT, "bot", 1)
+    );
+
+    /** Dense DFA over ASCII: next state for every (state, char). */
+    private final int[][] transitions;
+    /** Rule indexes matched on entering each state, suffix matches included. */
+    private final int[][] outputs;
+
+    private final Cache<String, UserAgentInfo> cache;
+
+    public UserAgentParser(AnalyticsIngestProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getUserAgentCacheSize())
+                .recordStats()
+                .build();
+
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(newNode());
+        out.add(new ArrayList<>());
+
+        for (int r = 0; r < RULES.size(); r++) {
+            int state = 0;
+            for (char c : RULES.get(r).token().toCharArray()) {
+                if (trie.get(state)[c] == 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newNode());
+                    out.add(new ArrayList<>());
+                }
+                state = trie.get(state)[c];
+            }
+            out.get(state).add(r);
+        }
+
+        // Breadth-first failure links, folded straight into the goto table
+        // so matching never has to follow a failure chain.
+        int[] fail = new int[trie.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < 128; c++) {
+            int child = trie.get(0)[c];
+            if (child != 0) queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int c = 0; c < 128; c++) {
+                int child = trie.get(state)[c];
+                if (child != 0) {
+                    fail[child] = trie.get(fail[state])[c];
+                    queue.add(child);
+                } else {
+                    trie.get(state)[c] = trie.get(fail[state])[c];
+                }
+            }
+        }
+
+        this.transitions = trie.toArray(int[][]::new);
+        this.outputs = out.stream()
+                .map(l -> l.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    public UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) return UNKNOWN;
+        if (userAgent.length() > MAX_CACHED_LENGTH) return classify(userAgent);
+        return cache.get(userAgent, this::classify);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user_agent");
+    }
+
+    /** Classifies without consulting the cache. */
+    public UserAgentInfo classify(String userAgent) {
+        int[] best = new int[KINDS];
+        Arrays.fill(best, -1);
+
+        int state = 0;
+        for (int i = 0; i < userAgent.length(); i++) {
+            char c = userAgent.charAt(i);
+            if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            state = transitions[state][c < 128 ? c : 0];
+
+            for (int r : outputs[state]) {
+                int kind = RULES.get(r).kind().ordinal();
+                if (best[kind] < 0 || RULES.get(r).priority() > RULES.get(best[kind]).priority()) {
+                    best[kind] = r;
+                }
+            }
+        }
+
+        boolean bot = best[Kind.BOT.ordinal()] >= 0;
+        String browser = value(best, Kind.BROWSER, "Other");
+        String os = value(best, Kind.OS, "Other");
+        String device = value(best, Kind.DEVICE, null);
+
+        if (bot) {
+            device = "bot";
+        } else if (device == null) {
+            // Android phones say "Mobile"; Android without it is a tablet
+            device = os.equals("Android") ? "tablet" : "desktop";
+        }
+
+        return new UserAgentInfo(browser, os, device, bot);
+    }
+
+    private static String value(int[] best, Kind kind, String fallback) {
+        int r = best[kind.ordinal()];
+        return r < 0 ? fallback : RULES.get(r).value();
+    }
+
+    private static int[] newNode() {
+        return new int[128];
+    }
+}
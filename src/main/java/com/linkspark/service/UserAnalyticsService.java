@@ -1,18 +1,16 @@
 package com.linkspark.service;
 
+import com.linkspark.dto.LinkSummary;
 import com.linkspark.dto.UserAnalyticsResponse;
-import com.linkspark.model.Analytics;
-import com.linkspark.model.Link;
 import com.linkspark.repository.AnalyticsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +18,8 @@ public class UserAnalyticsService {
 
     private final AnalyticsRepository analyticsRepo;
     private final LinkService linkService;
+    private final ReferrerDomainDictionary referrerDomains;
+    private final MeterRegistry meterRegistry;
 
     public UserAnalyticsResponse getUserMetrics(
             Authentication auth,
@@ -27,119 +27,127 @@ public class UserAnalyticsService {
             String start,
             String end
     ) {
+        String rangeTag = "7d".equals(range) || "30d".equals(range) || "90d".equals(range) ? range : "custom";
+        return meterRegistry.timer("linkspark.analytics.aggregate", "scope", "user", "range", rangeTag)
+                .record(() -> aggregate(auth, range, start, end));
+    }
 
-        List<Link> accessibleLinks = linkService.getAllLinks(auth)
-                .stream()
-                .map(dto -> linkService.getLinkByAlias(dto.getAlias()))
-                .toList();
+    private UserAnalyticsResponse aggregate(
+            Authentication auth,
+            String range,
+            String start,
+            String end
+    ) {
 
-        List<String> aliases = accessibleLinks.stream()
-                .map(Link::getAlias)
-                .toList();
+        List<LinkSummary> accessibleLinks = linkService.getAccessibleLinkSummaries(auth);
 
-        List<Analytics> rows = analyticsRepo.findAll().stream()
-                .filter(a -> aliases.contains(a.getAlias()))
-                .sorted(Comparator.comparing(Analytics::getClickedAt).reversed())
-                .toList();
+        String[] aliases = accessibleLinks.stream()
+                .map(LinkSummary::alias)
+                .toArray(String[]::new);
 
         UserAnalyticsResponse resp = new UserAnalyticsResponse();
         resp.metrics = new UserAnalyticsResponse.Metrics();
 
+        LocalDate to = LocalDate.now();
+        LocalDate from;
+
         if ("7d".equals(range))
-            resp.metrics.timeseries = buildDaily(rows, 7);
+            from = to.minusDays(6);
         else if ("30d".equals(range))
-            resp.metrics.timeseries = buildDaily(rows, 30);
+            from = to.minusDays(29);
         else if ("90d".equals(range))
-            resp.metrics.timeseries = buildDaily(rows, 90);
-        else if (start != null && end != null)
-            resp.metrics.timeseries = buildCustomDaily(
-                    rows,
-                    LocalDate.parse(start),
-                    LocalDate.parse(end)
-            );
-        else
-            resp.metrics.timeseries = buildDaily(rows, 7);
-
-        resp.metrics.totalClicks = rows.size();
+            from = to.minusDays(89);
+        else if (start != null && end != null) {
+            from = LocalDate.parse(start);
+            to = LocalDate.parse(end);
+        } else
+            from = to.minusDays(6);
+
         resp.metrics.totalLinks = accessibleLinks.size();
 
-        resp.metrics.countries = rows.stream()
-                .collect(Collectors.groupingBy(
-                        Analytics::getCountry,
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
+        if (aliases.length == 0) {
+            resp.metrics.timeseries = buildDaily(List.of(), from, to);
+            resp.metrics.countries = List.of();
+            resp.metrics.devices = List.of();
+            resp.metrics.browsers = List.of();
+            resp.metrics.referrers = List.of();
+            resp.topLinks = List.of();
+            return resp;
+        }
+
+        resp.metrics.timeseries = buildDaily(
+                analyticsRepo.countPerDay(aliases, from.atStartOfDay(), to.plusDays(1).atStartOfDay()),
+                from,
+                to
+        );
+
+        resp.metrics.totalClicks = analyticsRepo.countByAliasIn(aliases);
+
+        resp.metrics.countries = analyticsRepo.countPerCountry(aliases).stream()
                 .map(e -> {
                     var c = new UserAnalyticsResponse.CountryMetric();
-                    c.country = e.getKey();
-                    c.name = e.getKey();
-                    c.clicks = e.getValue();
+                    c.country = e.getName();
+                    c.name = e.getName();
+                    c.clicks = e.getClicks();
                     return c;
                 })
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.metrics.devices = rows.stream()
-                .collect(Collectors.groupingBy(
-                        Analytics::getDevice,
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
+        resp.metrics.devices = analyticsRepo.countPerDevice(aliases).stream()
                 .map(e -> {
                     var d = new UserAnalyticsResponse.DeviceMetric();
-                    d.type = e.getKey();
-                    d.clicks = e.getValue();
+                    d.type = e.getName();
+                    d.clicks = e.getClicks();
                     return d;
                 })
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.metrics.browsers = rows.stream()
-                .collect(Collectors.groupingBy(
-                        Analytics::getBrowser,
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
+        resp.metrics.browsers = analyticsRepo.countPerBrowser(aliases).stream()
                 .map(e -> {
                     var b = new UserAnalyticsResponse.BrowserMetric();
-                    b.name = e.getKey();
-                    b.clicks = e.getValue();
+                    b.name = e.getName();
+                    b.clicks = e.getClicks();
                     return b;
                 })
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.metrics.referrers = rows.stream()
-                .map(a -> a.getReferer() == null ? "direct" : a.getReferer())
-                .collect(Collectors.groupingBy(r -> r, Collectors.counting()))
-                .entrySet().stream()
+        List<AnalyticsRepository.IdCount> referrerCounts = analyticsRepo.countPerReferrerDomain(aliases);
+        Map<Integer, String> domains = referrerDomains.domainsFor(referrerCounts.stream()
+                .map(AnalyticsRepository.IdCount::getId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        // a null id is a click the backfill has not reached yet
+        resp.metrics.referrers = referrerCounts.stream()
                 .map(e -> {
                     var r = new UserAnalyticsResponse.ReferrerMetric();
-                    r.domain = cleanDomain(e.getKey());
-                    r.clicks = e.getValue();
+                    r.domain = e.getId() == null
+                            ? ReferrerDomainDictionary.UNKNOWN
+                            : domains.getOrDefault(e.getId(), ReferrerDomainDictionary.UNKNOWN);
+                    r.clicks = e.getClicks();
                     return r;
                 })
                 .sorted((a, b) -> Long.compare(b.clicks, a.clicks))
                 .toList();
 
-        resp.topLinks = accessibleLinks.stream().map(l -> {
+        Map<String, Long> clicksByAlias = AnalyticsRepository.GroupCount.toMap(analyticsRepo.countPerAlias(aliases));
+        Map<String, Long> last24hByAlias = AnalyticsRepository.GroupCount.toMap(
+                analyticsRepo.countPerAliasSince(aliases, LocalDateTime.now().minusHours(24))
+        );
 
-                    List<Analytics> linkRows = rows.stream()
-                            .filter(a -> a.getAlias().equals(l.getAlias()))
-                            .toList();
+        resp.topLinks = accessibleLinks.stream().map(l -> {
 
                     UserAnalyticsResponse.TopLink t =
                             new UserAnalyticsResponse.TopLink();
 
-                    t.linkId = l.getId();
-                    t.url = l.getOriginalUrl();
-                    t.title = l.getTitle();
-                    t.clicks = linkRows.size();
-                    t.last24h = linkRows.stream()
-                            .filter(a ->
-                                    a.getClickedAt()
-                                            .isAfter(LocalDateTime.now().minusHours(24)))
-                            .count();
+                    t.linkId = l.id();
+                    t.url = l.originalUrl();
+                    t.title = l.title();
+                    t.clicks = clicksByAlias.getOrDefault(l.alias(), 0L);
+                    t.last24h = last24hByAlias.getOrDefault(l.alias(), 0L);
 
                     return t;
 
@@ -149,53 +157,16 @@ public class UserAnalyticsService {
         return resp;
     }
 
-    private String cleanDomain(String url) {
-        try {
-            URI u = new URI(url);
-            return u.getHost() == null
-                    ? "direct"
-                    : u.getHost().replace("www.", "");
-        } catch (Exception e) {
-            return "direct";
-        }
-    }
-
     private List<UserAnalyticsResponse.TimeSeriesPoint> buildDaily(
-            List<Analytics> rows, int days) {
-
-        LocalDate today = LocalDate.now();
-        Map<LocalDate, Long> bucket = new LinkedHashMap<>();
-
-        for (int i = days - 1; i >= 0; i--)
-            bucket.put(today.minusDays(i), 0L);
-
-        for (Analytics a : rows) {
-            LocalDate d = a.getClickedAt().toLocalDate();
-            if (bucket.containsKey(d))
-                bucket.put(d, bucket.get(d) + 1);
-        }
-
-        return bucket.entrySet().stream().map(e -> {
-            var p = new UserAnalyticsResponse.TimeSeriesPoint();
-            p.date = e.getKey().toString();
-            p.clicks = e.getValue();
-            return p;
-        }).toList();
-    }
-
-    private List<UserAnalyticsResponse.TimeSeriesPoint> buildCustomDaily(
-            List<Analytics> rows, LocalDate start, LocalDate end) {
+            List<AnalyticsRepository.DayCount> counts, LocalDate start, LocalDate end) {
 
         Map<LocalDate, Long> bucket = new LinkedHashMap<>();
 
         for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1))
             bucket.put(d, 0L);
 
-        for (Analytics a : rows) {
-            LocalDate d = a.getClickedAt().toLocalDate();
-            if (bucket.containsKey(d))
-                bucket.put(d, bucket.get(d) + 1);
-        }
+        for (AnalyticsRepository.DayCount c : counts)
+            bucket.computeIfPresent(c.getDay(), (k, v) -> v + c.getClicks());
 
         return bucket.entrySet().stream().map(e -> {
             var p = new UserAnalyticsResponse.TimeSeriesPoint();
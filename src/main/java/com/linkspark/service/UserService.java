@@ -2,6 +2,7 @@ package com.linkspark.service;
 
 import com.linkspark.domain.User;
 import com.linkspark.repository.UserRepository;
+import com.linkspark.security.UserPrincipalCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,9 +15,11 @@ import java.util.UUID;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -36,6 +39,12 @@ public class UserService implements UserDetailsService {
     public Optional<User> findById(UUID id) {
         return userRepository.findById(id);
     }
+
+    public Optional<User> findPrincipal(UUID id) {
+        return Optional.ofNullable(
+                principalCache.get(id, key -> userRepository.findById(key).orElse(null))
+        );
+    }
 }
 
 
@@ -0,0 +1,30 @@
+-- link_week_clicks was an unordered bag; give each bucket a stable index so
+-- the click flusher can increment a single bucket in place.
+-- Fresh databases skip this block and get the column from the entity mapping.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'link_week_clicks') THEN
+
+        ALTER TABLE link_week_clicks ADD COLUMN IF NOT EXISTS day_index INTEGER;
+
+        -- Hibernate rewrote the whole bag on every change, so physical order
+        -- matches list order.
+        UPDATE link_week_clicks w
+        SET day_index = n.idx
+        FROM (
+            SELECT ctid, ROW_NUMBER() OVER (PARTITION BY link_id ORDER BY ctid) - 1 AS idx
+            FROM link_week_clicks
+        ) n
+        WHERE w.ctid = n.ctid
+          AND w.day_index IS NULL;
+
+        ALTER TABLE link_week_clicks ALTER COLUMN day_index SET NOT NULL;
+
+        IF NOT EXISTS (
+            SELECT 1 FROM pg_constraint
+            WHERE conrelid = 'link_week_clicks'::regclass AND contype = 'p'
+        ) THEN
+            ALTER TABLE link_week_clicks ADD PRIMARY KEY (link_id, day_index);
+        END IF;
+    END IF;
+END $$;
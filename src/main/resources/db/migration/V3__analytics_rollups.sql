@@ -0,0 +1,67 @@
+-- Pre-aggregated click counts per alias and time bucket. Each click adds to
+-- one TOTAL row plus one row per breakdown dimension.
+CREATE TABLE IF NOT EXISTS analytics_hourly (
+    alias VARCHAR(255) NOT NULL,
+    bucket TIMESTAMP NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    value VARCHAR(255) NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (alias, bucket, dimension, value)
+);
+
+CREATE TABLE IF NOT EXISTS analytics_daily (
+    alias VARCHAR(255) NOT NULL,
+    bucket DATE NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    value VARCHAR(255) NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (alias, bucket, dimension, value)
+);
+
+-- Seed the rollups from clicks recorded before they existed.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'analytics') THEN
+
+        CREATE TEMP TABLE analytics_dims ON COMMIT DROP AS
+        SELECT alias,
+               clicked_at,
+               LEFT(COALESCE(country, 'UN'), 255) AS country,
+               LEFT(COALESCE(device, 'desktop'), 255) AS device,
+               LEFT(COALESCE(browser, 'Other'), 255) AS browser,
+               LEFT(COALESCE(
+                   substring(referer FROM '^[A-Za-z][A-Za-z0-9+.-]*://(?:www\.)?([^/:?#]+)'),
+                   referer,
+                   'direct'
+               ), 255) AS referrer
+        FROM analytics
+        WHERE alias IS NOT NULL AND clicked_at IS NOT NULL;
+
+        INSERT INTO analytics_hourly (alias, bucket, dimension, value, clicks)
+        SELECT alias, date_trunc('hour', clicked_at), d.dimension, d.value, COUNT(*)
+        FROM analytics_dims a
+        CROSS JOIN LATERAL (VALUES
+            ('TOTAL', ''),
+            ('COUNTRY', a.country),
+            ('DEVICE', a.device),
+            ('BROWSER', a.browser),
+            ('REFERRER', a.referrer)
+        ) AS d(dimension, value)
+        WHERE clicked_at >= date_trunc('hour', NOW()) - INTERVAL '7 days'
+        GROUP BY 1, 2, 3, 4
+        ON CONFLICT DO NOTHING;
+
+        INSERT INTO analytics_daily (alias, bucket, dimension, value, clicks)
+        SELECT alias, CAST(clicked_at AS DATE), d.dimension, d.value, COUNT(*)
+        FROM analytics_dims a
+        CROSS JOIN LATERAL (VALUES
+            ('TOTAL', ''),
+            ('COUNTRY', a.country),
+            ('DEVICE', a.device),
+            ('BROWSER', a.browser),
+            ('REFERRER', a.referrer)
+        ) AS d(dimension, value)
+        GROUP BY 1, 2, 3, 4
+        ON CONFLICT DO NOTHING;
+    END IF;
+END $$;
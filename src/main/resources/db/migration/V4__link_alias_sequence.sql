@@ -0,0 +1,5 @@
+-- Source of generated short codes. Each nextval leases a block of
+-- INCREMENT BY codes to one node, which hands them out from memory.
+-- Only ever raise the increment: a smaller one would overlap the
+-- block most recently leased.
+CREATE SEQUENCE IF NOT EXISTS link_alias_seq START WITH 1 INCREMENT BY 1000;
@@ -0,0 +1,67 @@
+-- Turn analytics into a table range-partitioned by clicked_at, one
+-- partition per month. AnalyticsPartitionManager keeps creating future
+-- partitions and applies retention by dropping or detaching whole ones.
+--
+-- Existing rows are copied into monthly partitions. The copy is a one-off
+-- cost paid at deploy time; on a fresh database the table is empty.
+DO $$
+DECLARE
+    max_id BIGINT;
+    first_month TIMESTAMP;
+    last_month TIMESTAMP := date_trunc('month', NOW()) + INTERVAL '3 months';
+    m TIMESTAMP;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'analytics' AND relkind = 'p') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE analytics RENAME TO analytics_legacy;
+    ALTER INDEX IF EXISTS idx_analytics_alias_clicked_at RENAME TO idx_analytics_legacy_alias_clicked_at;
+    ALTER INDEX IF EXISTS idx_analytics_clicked_at_brin RENAME TO idx_analytics_legacy_clicked_at_brin;
+
+    SELECT MAX(id), date_trunc('month', MIN(clicked_at))
+    INTO max_id, first_month
+    FROM analytics_legacy;
+
+    CREATE TABLE analytics (
+        id BIGINT NOT NULL,
+        alias VARCHAR(255),
+        ip VARCHAR(255),
+        user_agent VARCHAR(255),
+        referer VARCHAR(255),
+        country VARCHAR(255),
+        device VARCHAR(255),
+        browser VARCHAR(255),
+        clicked_at TIMESTAMP NOT NULL,
+        PRIMARY KEY (id, clicked_at)
+    ) PARTITION BY RANGE (clicked_at);
+
+    -- Catches rows outside every range, so an insert never fails because
+    -- the manager fell behind. It is expected to stay empty.
+    CREATE TABLE analytics_default PARTITION OF analytics DEFAULT;
+
+    m := COALESCE(LEAST(first_month, date_trunc('month', NOW())), date_trunc('month', NOW()));
+    WHILE m < last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF analytics FOR VALUES FROM (%L) TO (%L)',
+            'analytics_p' || to_char(m, 'YYYYMMDD'), m, m + INTERVAL '1 month'
+        );
+        m := m + INTERVAL '1 month';
+    END LOOP;
+
+    -- Clicks without a timestamp never matched a time range; they are kept
+    -- in the default partition rather than dropped.
+    INSERT INTO analytics (id, alias, ip, user_agent, referer, country, device, browser, clicked_at)
+    SELECT id, alias, ip, user_agent, referer, country, device, browser,
+           COALESCE(clicked_at, TIMESTAMP '1970-01-01')
+    FROM analytics_legacy;
+
+    DROP TABLE analytics_legacy;
+
+    CREATE SEQUENCE analytics_id_seq OWNED BY analytics.id;
+    PERFORM setval('analytics_id_seq', COALESCE(max_id, 0) + 1, false);
+    ALTER TABLE analytics ALTER COLUMN id SET DEFAULT nextval('analytics_id_seq');
+
+    CREATE INDEX idx_analytics_alias_clicked_at ON analytics (alias, clicked_at DESC);
+    CREATE INDEX idx_analytics_clicked_at_brin ON analytics USING BRIN (clicked_at);
+END $$;
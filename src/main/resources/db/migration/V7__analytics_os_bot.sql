@@ -0,0 +1,4 @@
+-- Operating system and bot flag from the user-agent classifier. Clicks
+-- recorded before this version have no OS and count as human.
+ALTER TABLE analytics ADD COLUMN IF NOT EXISTS os VARCHAR(255);
+ALTER TABLE analytics ADD COLUMN IF NOT EXISTS bot BOOLEAN NOT NULL DEFAULT FALSE;
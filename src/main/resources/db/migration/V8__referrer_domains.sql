@@ -0,0 +1,15 @@
+-- Referrer hosts are normalized once at ingest and interned here, so
+-- referrer breakdowns group by an integer instead of re-parsing URLs.
+CREATE TABLE IF NOT EXISTS referrer_domains (
+    id     SERIAL PRIMARY KEY,
+    domain VARCHAR(255) NOT NULL UNIQUE
+);
+
+-- No foreign key: it would add a lookup to every click insert, and ids
+-- are only ever handed out after their dictionary row has committed.
+ALTER TABLE analytics ADD COLUMN IF NOT EXISTS referrer_domain_id INTEGER;
+
+-- Rows written before this version are filled in by the backfill job;
+-- this index lets it find them cheaply and is empty once it is done.
+CREATE INDEX IF NOT EXISTS idx_analytics_referrer_pending
+    ON analytics (id) WHERE referrer_domain_id IS NULL;
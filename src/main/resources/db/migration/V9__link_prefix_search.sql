@@ -0,0 +1,9 @@
+-- The link listing's search box matches lower(title) or lower(alias)
+-- against a prefix (LIKE 'abc%'). lower() yields text, so the pattern
+-- opclass is text_pattern_ops; it lets LIKE use the index whatever the
+-- database collation is.
+CREATE INDEX IF NOT EXISTS idx_links_lower_title_prefix
+    ON links (lower(title) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_links_lower_alias_prefix
+    ON links (lower(alias) text_pattern_ops);
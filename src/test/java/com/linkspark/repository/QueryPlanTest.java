@@ -0,0 +1,200 @@
+package com.linkspark.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkspark.domain.Team;
+import com.linkspark.domain.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot read paths against the real schema (Flyway V1..latest) and
+ * checks that Postgres can serve every one of them from an index.
+ *
+ * <p>The SQL is captured from Hibernate as it is issued and planned with
+ * {@code EXPLAIN (GENERIC_PLAN)}, so the plan does not depend on the test
+ * data. Sequential scans are disabled for the planner first: on a nearly
+ * empty table a seq scan is always cheapest, but with the penalty applied a
+ * {@code Seq Scan} node only survives when no index matches the predicate.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.linkspark.repository.QueryPlanTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final List<String> WATCHED = List.of("analytics", "links", "team_members");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired private AnalyticsRepository analyticsRepository;
+    @Autowired private LinkRepository linkRepository;
+    @Autowired private TeamMemberRepository teamMemberRepository;
+    @Autowired private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void clicksByAliasNewestFirst() throws Exception {
+        assertIndexed(() -> analyticsRepository.findByAliasOrderByClickedAtDesc("abc123"));
+    }
+
+    @Test
+    void clicksByAliasSince() throws Exception {
+        assertIndexed(() -> analyticsRepository.findByAliasAndClickedAtAfter("abc123", LocalDateTime.now().minusDays(7)));
+    }
+
+    @Test
+    void recentClicksByAlias() throws Exception {
+        assertIndexed(() -> analyticsRepository.findTop50ByAliasOrderByClickedAtDesc("abc123"));
+    }
+
+    @Test
+    void clicksForAliasSet() throws Exception {
+        String[] aliases = {"abc123", "def456"};
+        assertIndexed(() -> analyticsRepository.countByAliasIn(aliases));
+        assertIndexed(() -> analyticsRepository.countPerDay(aliases, LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+        assertIndexed(() -> analyticsRepository.findTop10ByAliasInOrderByClickedAtDesc(aliases));
+    }
+
+    @Test
+    void accessibleLinks() throws Exception {
+        assertIndexed(() -> linkRepository.findAllAccessibleLinks(userId));
+    }
+
+    @Test
+    void accessibleLinkSummaries() throws Exception {
+        assertIndexed(() -> linkRepository.findAccessibleLinkSummaries(userId));
+    }
+
+    @Test
+    void accessibleLinksListing() throws Exception {
+        assertIndexed(() -> linkRepository.findAll(
+                LinkSpecifications.accessibleBy(userId, List.of(UUID.randomUUID(), UUID.randomUUID())),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))));
+    }
+
+    @Test
+    void joinedTeams() throws Exception {
+        assertIndexed(() -> teamMemberRepository.findJoinedTeamIds(userId));
+    }
+
+    @Test
+    void membershipOfUserInTeam() throws Exception {
+        assertIndexed(() -> teamMemberRepository.findByTeamAndUser(
+                entityManager.getReference(Team.class, UUID.randomUUID()),
+                entityManager.getReference(User.class, userId)));
+    }
+
+    @Test
+    void membershipsOfUser() throws Exception {
+        assertIndexed(() -> teamMemberRepository.findByUser(entityManager.getReference(User.class, userId)));
+    }
+
+    private void assertIndexed(Runnable query) throws Exception {
+        CapturingInspector.SQL.clear();
+        query.run();
+        assertThat(CapturingInspector.SQL).as("captured SQL").isNotEmpty();
+
+        for (String sql : CapturingInspector.SQL) {
+            assertThat(fullScans(explain(sql))).as("full scans in plan of%n%s", sql).isEmpty();
+        }
+    }
+
+    /**
+     * Plans the statement on its own connection in simple query mode: over
+     * the extended protocol the driver would try to bind the placeholders.
+     */
+    private static JsonNode explain(String sql) throws Exception {
+        Properties props = new Properties();
+        props.setProperty("user", postgres.getUsername());
+        props.setProperty("password", postgres.getPassword());
+        props.setProperty("preferQueryMode", "simple");
+
+        try (Connection conn = DriverManager.getConnection(postgres.getJdbcUrl(), props);
+             Statement st = conn.createStatement()) {
+            st.execute("SET enable_seqscan = off");
+            try (ResultSet rs = st.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql))) {
+                rs.next();
+                return JSON.readTree(rs.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    /**
+     * Watched relations (partitions included) that the plan reads in full:
+     * a Seq Scan, or an index scan with no index condition, which is what the
+     * planner falls back to for an ordered read once seq scans are penalised.
+     */
+    private static List<String> fullScans(JsonNode plan) {
+        List<String> found = new ArrayList<>();
+        collect(plan, found);
+        return found;
+    }
+
+    private static void collect(JsonNode node, List<String> found) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        boolean fullScan = type.equals("Seq Scan")
+                || (type.startsWith("Index") && !node.has("Index Cond"));
+        if (fullScan && watched(relation)) {
+            found.add(type + " on " + relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, found);
+        }
+    }
+
+    private static boolean watched(String relation) {
+        return WATCHED.contains(relation)
+                || relation.startsWith("analytics_p")
+                || relation.equals("analytics_default");
+    }
+
+    /** EXPLAIN only accepts numbered placeholders; Hibernate emits JDBC-style ones. */
+    private static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') out.append('$').append(++n);
+            else out.append(c);
+        }
+        return out.toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
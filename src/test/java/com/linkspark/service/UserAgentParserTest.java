@@ -0,0 +1,61 @@
+package com.linkspark.service;
+
+import com.linkspark.config.AnalyticsIngestProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserAgentParserTest {
+
+    private final UserAgentParser parser = new UserAgentParser(new AnalyticsIngestProperties());
+
+    @Test
+    void edgeBeatsTheChromeTokenItCarries() {
+        UserAgentParser.UserAgentInfo info = parser.classify(
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/129.0.0.0 Safari/537.36 Edg/129.0.2792.79");
+
+        assertThat(info).isEqualTo(new UserAgentParser.UserAgentInfo("Edge", "Windows", "desktop", false));
+    }
+
+    @Test
+    void operaBeatsChrome() {
+        UserAgentParser.UserAgentInfo info = parser.classify(
+                "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/129.0.0.0 Safari/537.36 OPR/114.0.0.0");
+
+        assertThat(info).isEqualTo(new UserAgentParser.UserAgentInfo("Opera", "macOS", "desktop", false));
+    }
+
+    @Test
+    void tablets() {
+        assertThat(parser.classify(
+                "Mozilla/5.0 (iPad; CPU OS 17_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+                        + "Version/17.6 Mobile/15E148 Safari/604.1"))
+                .isEqualTo(new UserAgentParser.UserAgentInfo("Safari", "iOS", "tablet", false));
+
+        // Android without "Mobile" is a tablet
+        assertThat(parser.classify(
+                "Mozilla/5.0 (Linux; Android 14; SM-X710) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/129.0.0.0 Safari/537.36"))
+                .isEqualTo(new UserAgentParser.UserAgentInfo("Chrome", "Android", "tablet", false));
+    }
+
+    @Test
+    void bots() {
+        assertThat(parser.classify("Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)").bot())
+                .isTrue();
+        assertThat(parser.classify("TelegramBot (like TwitterBot)").bot()).isTrue();
+        assertThat(parser.classify("Mozilla/5.0 (compatible; semrush-bot; +http://www.semrush.com/bot.html)").bot())
+                .isTrue();
+    }
+
+    @Test
+    void botInsideADeviceNameIsNotABot() {
+        UserAgentParser.UserAgentInfo info = parser.classify(
+                "Mozilla/5.0 (Linux; Android 9; CUBOT KING KONG 3) AppleWebKit/537.36 (KHTML, like Gecko) "
+                        + "Chrome/99.0.4844.88 Mobile Safari/537.36");
+
+        assertThat(info).isEqualTo(new UserAgentParser.UserAgentInfo("Chrome", "Android", "mobile", false));
+    }
+}